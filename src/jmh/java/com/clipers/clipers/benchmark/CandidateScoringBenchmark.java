@@ -0,0 +1,76 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.config.ScoringModelProperties;
+import com.clipers.clipers.service.CandidateFeatures;
+import com.clipers.clipers.service.CandidateScoringEngine;
+import com.clipers.clipers.service.JobFeatures;
+import com.clipers.clipers.service.MatchScorer;
+import com.clipers.clipers.service.ScoredCandidate;
+import com.clipers.clipers.service.SkillDictionary;
+import com.clipers.clipers.service.TopK;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una pasada completa de matching de una vacante (puntuar + top-K) sobre N candidatos,
+ * en modo secuencial y paralelo. Para 1M de candidatos: -Djmh.args="CandidateScoringBenchmark
+ * -p candidates=1000000 -p skillCount=10 -jvmArgs -Xmx8g".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CandidateScoringBenchmark {
+
+    private static final int TOP_K = 200;
+
+    @Param({"10000", "100000"})
+    public int candidates;
+
+    @Param({"10", "100"})
+    public int skillCount;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    private CandidateScoringEngine engine;
+    private List<CandidateFeatures> snapshot;
+    private JobFeatures job;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SkillDictionary dictionary = new SkillDictionary();
+        SyntheticData data = new SyntheticData(skillCount);
+        snapshot = Arrays.asList(data.candidates(candidates, skillCount, dictionary));
+        job = data.jobs(1, skillCount, dictionary)[0];
+        engine = new CandidateScoringEngine(new MatchScorer(new ScoringModelProperties()), new SimpleMeterRegistry(), mode, 0, 2000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public TopK<ScoredCandidate> scoreJob() {
+        return engine.selectTopK(snapshot, job, TOP_K);
+    }
+}
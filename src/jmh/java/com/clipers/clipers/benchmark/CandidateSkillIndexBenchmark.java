@@ -0,0 +1,59 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.service.CandidateSkillIndex;
+import com.clipers.clipers.service.SkillDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la poda con el índice invertido: candidatos que comparten al menos
+ * una habilidad con la vacante.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CandidateSkillIndexBenchmark {
+
+    @Param({"10000", "100000"})
+    public int candidates;
+
+    @Param({"10", "100"})
+    public int skillCount;
+
+    private CandidateSkillIndex index;
+    private List<String> jobSkills;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SkillDictionary dictionary = new SkillDictionary();
+        SyntheticData data = new SyntheticData(skillCount);
+        // Sin repositorio: el índice se llena con update(), que fuera de una transacción aplica de inmediato
+        index = new CandidateSkillIndex(null, dictionary);
+        for (int i = 0; i < candidates; i++) {
+            index.update(data.profile(i, skillCount));
+        }
+        jobSkills = data.job(0, skillCount).getSkills();
+    }
+
+    @Benchmark
+    public Set<String> findCandidates() {
+        return index.findCandidates(jobSkills);
+    }
+}
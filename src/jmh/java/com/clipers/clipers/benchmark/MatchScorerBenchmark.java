@@ -0,0 +1,122 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.config.ScoringModelProperties;
+import com.clipers.clipers.entity.JobMatch;
+import com.clipers.clipers.service.CandidateFeatures;
+import com.clipers.clipers.service.JobFeatures;
+import com.clipers.clipers.service.MatchExplanationRenderer;
+import com.clipers.clipers.service.MatchScore;
+import com.clipers.clipers.service.MatchScorer;
+import com.clipers.clipers.service.SkillDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por par candidato × vacante de cada componente de {@link MatchScorer}.
+ * Se recorre un conjunto fijo de pares para no medir siempre el mismo en caché.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="MatchScorerBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchScorerBenchmark {
+
+    private static final int CANDIDATES = 1024;
+    private static final int JOBS = 64;
+
+    @Param({"10", "100", "1000"})
+    public int skillCount;
+
+    private MatchScorer matchScorer;
+    private CandidateFeatures[] candidates;
+    private JobFeatures[] jobs;
+    private MatchScore[] scores;
+    private MatchExplanationRenderer explanationRenderer;
+    private JobMatch[] storedMatches;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SkillDictionary dictionary = new SkillDictionary();
+        SyntheticData data = new SyntheticData(skillCount);
+        matchScorer = new MatchScorer(new ScoringModelProperties());
+        candidates = data.candidates(CANDIDATES, skillCount, dictionary);
+        jobs = data.jobs(JOBS, skillCount, dictionary);
+
+        scores = new MatchScore[CANDIDATES];
+        storedMatches = new JobMatch[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            scores[i] = matchScorer.score(candidates[i], jobs[i % JOBS]);
+            storedMatches[i] = new JobMatch(null, null, scores[i].getOverallScore(), null);
+            storedMatches[i].setSkillScore(scores[i].getSkillScore());
+            storedMatches[i].setExperienceScore(scores[i].getExperienceScore());
+            storedMatches[i].setLocationScore(scores[i].getLocationScore());
+        }
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        explanationRenderer = new MatchExplanationRenderer(messageSource);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (CANDIDATES - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public double skillMatchScore() {
+        int i = next();
+        return matchScorer.calculateSkillMatchScore(candidates[i].getSkills(), jobs[i % JOBS].getSkills());
+    }
+
+    @Benchmark
+    public double experienceMatchScore() {
+        int i = next();
+        return matchScorer.calculateExperienceMatchScore(candidates[i], jobs[i % JOBS]);
+    }
+
+    @Benchmark
+    public double overallMatchScore() {
+        MatchScore score = scores[next()];
+        return matchScorer.calculateOverallMatchScore(score.getSkillScore(), score.getExperienceScore(),
+                score.getLocationScore());
+    }
+
+    @Benchmark
+    public MatchScore fullScore() {
+        int i = next();
+        return matchScorer.score(candidates[i], jobs[i % JOBS]);
+    }
+
+    @Benchmark
+    public String matchExplanation() {
+        return explanationRenderer.render(storedMatches[next()], Locale.ROOT);
+    }
+
+    @Benchmark
+    public List<String> matchedSkills() {
+        int i = next();
+        return matchScorer.findMatchedSkills(candidates[i].getSkills(), jobs[i % JOBS]);
+    }
+}
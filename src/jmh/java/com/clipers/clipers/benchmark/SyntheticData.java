@@ -0,0 +1,91 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.entity.User;
+import com.clipers.clipers.service.CandidateFeatures;
+import com.clipers.clipers.service.JobFeatures;
+import com.clipers.clipers.service.SkillDictionary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Perfiles ATS y vacantes sintéticos para los benchmarks de matching.
+ * La semilla es fija para que dos ejecuciones puntúen exactamente los mismos datos.
+ */
+final class SyntheticData {
+
+    private static final String[] LOCATIONS = {"Bogotá", "Medellín", "Remoto", "Cali", null};
+
+    private final Random random = new Random(42);
+    private final int vocabularySize;
+
+    SyntheticData(int skillsPerProfile) {
+        // Vocabulario mayor que el perfil para que las intersecciones sean parciales
+        this.vocabularySize = Math.max(5_000, skillsPerProfile * 5);
+    }
+
+    ATSProfile profile(int index, int skillCount) {
+        User user = new User();
+        user.setId("user-" + index);
+
+        ATSProfile profile = new ATSProfile();
+        profile.setUser(user);
+
+        List<Skill> skills = new ArrayList<>(skillCount);
+        for (String name : skillNames(skillCount)) {
+            skills.add(new Skill(name, Skill.SkillLevel.INTERMEDIATE, Skill.SkillCategory.TECHNICAL, profile));
+        }
+        profile.setSkills(skills);
+
+        List<Experience> experience = new ArrayList<>();
+        int jobs = random.nextInt(4);
+        LocalDate start = LocalDate.now().minusYears(12);
+        for (int i = 0; i < jobs; i++) {
+            LocalDate end = start.plusYears(1 + random.nextInt(3));
+            Experience exp = new Experience("Empresa " + i, "Cargo " + i, start, null, profile);
+            exp.setEndDate(end);
+            experience.add(exp);
+            start = end;
+        }
+        profile.setExperience(experience);
+        return profile;
+    }
+
+    Job job(int index, int skillCount) {
+        Job job = new Job("Vacante " + index, "Descripción", LOCATIONS[index % LOCATIONS.length],
+                Job.JobType.values()[index % Job.JobType.values().length], null);
+        job.setId("job-" + index);
+        job.setSkills(skillNames(skillCount));
+        return job;
+    }
+
+    CandidateFeatures[] candidates(int count, int skillCount, SkillDictionary dictionary) {
+        CandidateFeatures[] candidates = new CandidateFeatures[count];
+        for (int i = 0; i < count; i++) {
+            candidates[i] = CandidateFeatures.from(profile(i, skillCount), dictionary);
+        }
+        return candidates;
+    }
+
+    JobFeatures[] jobs(int count, int skillCount, SkillDictionary dictionary) {
+        JobFeatures[] jobs = new JobFeatures[count];
+        for (int i = 0; i < count; i++) {
+            jobs[i] = JobFeatures.from(job(i, skillCount), dictionary);
+        }
+        return jobs;
+    }
+
+    private List<String> skillNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add("Skill-" + random.nextInt(vocabularySize));
+        }
+        return names;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+import com.zaxxer.hikari.HikariDataSource;
 import javax.sql.DataSource;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 
@@ -40,11 +41,15 @@ public class DatabaseConfig {
 
     @Bean
     public DataSource dataSource() {
-        return DataSourceBuilder.create()
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .url(databaseUrl)
                 .username(databaseUsername)
                 .password(databasePassword)
                 .driverClassName(databaseDriver)
                 .build();
+        // El driver de PostgreSQL reescribe los INSERT en lote como un único INSERT multi-fila
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return dataSource;
     }
 }
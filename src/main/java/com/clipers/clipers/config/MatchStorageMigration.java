@@ -0,0 +1,104 @@
+package com.clipers.clipers.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ajustes de esquema de job_matches que ddl-auto=update no hace por sí solo.
+ * Cada paso es idempotente, así que puede ejecutarse en cada arranque.
+ */
+@Component
+public class MatchStorageMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchStorageMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Orden: primero se elimina job_match_skills (su FK sin cascada impide borrar matches),
+     * luego se eliminan duplicados y al final se asegura la restricción única. Sin esa
+     * restricción ningún upsert de JobMatchBatchWriter funciona, así que si no se puede
+     * crear el arranque falla en vez de seguir con el matching roto.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            moveMatchedSkillsToArray();
+        } catch (Exception e) {
+            System.err.println("Error migrando job_match_skills: " + e.getMessage());
+        }
+        try {
+            dropStoredExplanation();
+        } catch (Exception e) {
+            System.err.println("Error eliminando job_matches.explanation: " + e.getMessage());
+        }
+        try {
+            removeDuplicateMatches();
+        } catch (Exception e) {
+            System.err.println("Error eliminando matches duplicados: " + e.getMessage());
+        }
+        try {
+            ensureUniqueJobUser();
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo crear uk_job_matches_job_user en job_matches: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deja un solo match por (job_id, user_id), el de mayor score. Sin esto Hibernate no puede
+     * crear uk_job_matches_job_user en una base que ya tiene pares repetidos.
+     */
+    private void removeDuplicateMatches() {
+        int removed = jdbcTemplate.update(
+                "DELETE FROM job_matches a USING job_matches b " +
+                "WHERE a.job_id = b.job_id AND a.user_id = b.user_id " +
+                "AND (a.score < b.score OR (a.score = b.score AND a.id < b.id))");
+        if (removed > 0) {
+            System.out.println("Eliminados " + removed + " matches duplicados de job_matches");
+        }
+    }
+
+    /**
+     * El upsert de JobMatchBatchWriter (ON CONFLICT (job_id, user_id)) necesita la restricción;
+     * si ddl-auto no pudo crearla por los duplicados, se crea aquí.
+     */
+    private void ensureUniqueJobUser() {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_job_matches_job_user')", Boolean.class);
+        if (!Boolean.TRUE.equals(exists)) {
+            jdbcTemplate.execute("ALTER TABLE job_matches ADD CONSTRAINT uk_job_matches_job_user UNIQUE (job_id, user_id)");
+            System.out.println("Restricción uk_job_matches_job_user creada");
+        }
+    }
+
+    /**
+     * La explicación ahora se genera al leer a partir de los componentes del score.
+     */
+    private void dropStoredExplanation() {
+        jdbcTemplate.execute("ALTER TABLE job_matches DROP COLUMN IF EXISTS explanation");
+    }
+
+    /**
+     * Copia las habilidades de la antigua tabla job_match_skills a la columna matched_skills
+     * y elimina la tabla, cuya FK además impediría borrar matches.
+     */
+    private void moveMatchedSkillsToArray() {
+        Boolean legacyTableExists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('job_match_skills') IS NOT NULL", Boolean.class);
+        if (!Boolean.TRUE.equals(legacyTableExists)) {
+            return;
+        }
+
+        int migrated = jdbcTemplate.update(
+                "UPDATE job_matches jm SET matched_skills = s.skills " +
+                "FROM (SELECT job_match_id, array_agg(matched_skill) AS skills " +
+                "      FROM job_match_skills GROUP BY job_match_id) s " +
+                "WHERE jm.id = s.job_match_id AND jm.matched_skills IS NULL");
+        jdbcTemplate.execute("DROP TABLE job_match_skills");
+        System.out.println("Habilidades de " + migrated + " matches migradas a job_matches.matched_skills");
+    }
+}
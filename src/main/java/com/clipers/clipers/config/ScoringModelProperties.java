@@ -0,0 +1,41 @@
+package com.clipers.clipers.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pesos y umbrales del modelo de scoring (prefijo matching.model).
+ * Cada JobMatch guarda la versión con la que se puntuó: al cambiar cualquier valor
+ * hay que subir {@code version} para que los matches existentes se re-puntúen.
+ */
+@Component
+@ConfigurationProperties(prefix = "matching.model")
+public class ScoringModelProperties {
+
+    private int version = 1;
+    private double skillWeight = 0.5;
+    private double experienceWeight = 0.3;
+    private double locationWeight = 0.2;
+    // Score mínimo para guardar un match
+    private double minMatchScore = 0.3;
+    // Score a partir del cual se notifica al candidato
+    private double notifyScore = 0.6;
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    public double getSkillWeight() { return skillWeight; }
+    public void setSkillWeight(double skillWeight) { this.skillWeight = skillWeight; }
+
+    public double getExperienceWeight() { return experienceWeight; }
+    public void setExperienceWeight(double experienceWeight) { this.experienceWeight = experienceWeight; }
+
+    public double getLocationWeight() { return locationWeight; }
+    public void setLocationWeight(double locationWeight) { this.locationWeight = locationWeight; }
+
+    public double getMinMatchScore() { return minMatchScore; }
+    public void setMinMatchScore(double minMatchScore) { this.minMatchScore = minMatchScore; }
+
+    public double getNotifyScore() { return notifyScore; }
+    public void setNotifyScore(double notifyScore) { this.notifyScore = notifyScore; }
+}
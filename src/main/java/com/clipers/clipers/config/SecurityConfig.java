@@ -74,6 +74,7 @@ public class SecurityConfig {
                 
                 // Admin only endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // Company specific endpoints
                 .requestMatchers("/api/jobs/create").hasRole("COMPANY")
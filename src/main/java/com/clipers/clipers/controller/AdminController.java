@@ -0,0 +1,47 @@
+package com.clipers.clipers.controller;
+
+import com.clipers.clipers.service.MatchBackfillService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Operaciones de administración del matching
+ */
+@RestController
+@RequestMapping("/api/admin/matching")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final MatchBackfillService matchBackfillService;
+
+    @Autowired
+    public AdminController(MatchBackfillService matchBackfillService) {
+        this.matchBackfillService = matchBackfillService;
+    }
+
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Object>> startBackfill() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(matchBackfillService.start());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/backfill")
+    public ResponseEntity<Map<String, Object>> getBackfillProgress() {
+        return ResponseEntity.ok(matchBackfillService.getProgress());
+    }
+
+    @DeleteMapping("/backfill")
+    public ResponseEntity<Void> cancelBackfill() {
+        matchBackfillService.cancel();
+        return ResponseEntity.accepted().build();
+    }
+}
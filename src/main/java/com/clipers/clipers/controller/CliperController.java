@@ -1,18 +1,29 @@
 package com.clipers.clipers.controller;
 
 import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.StoredBlob;
 import com.clipers.clipers.service.CliperService;
+import com.clipers.clipers.service.CliperStatusPublisher;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUpload;
+import org.apache.commons.fileupload.UploadContext;
+import org.apache.commons.fileupload.util.Streams;
 import com.clipers.clipers.dto.CliperDTO;
 import com.clipers.clipers.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.data.domain.PageRequest;
 
 import java.util.HashMap;
@@ -20,10 +31,8 @@ import java.util.List;
 import java.util.Map;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/clipers")
@@ -32,11 +41,17 @@ public class CliperController {
 
     private final CliperService cliperService;
     private final UserRepository userRepository;
+    private final CliperStatusPublisher cliperStatusPublisher;
+    private final MultipartProperties multipartProperties;
 
     @Autowired
-    public CliperController(CliperService cliperService, UserRepository userRepository) {
+    public CliperController(CliperService cliperService, UserRepository userRepository,
+                            CliperStatusPublisher cliperStatusPublisher,
+                            MultipartProperties multipartProperties) {
         this.cliperService = cliperService;
         this.userRepository = userRepository;
+        this.cliperStatusPublisher = cliperStatusPublisher;
+        this.multipartProperties = multipartProperties;
     }
 
     @PostMapping("/upload")
@@ -48,12 +63,53 @@ public class CliperController {
         try {
             String userId = getCurrentUserId();
 
-            // Simular guardado de archivo y obtener URL
-            String videoUrl = saveVideoFile(videoFile);
-            Integer duration = extractVideoDuration(videoFile);
+            Integer duration = extractVideoDuration();
 
-            Cliper cliper = cliperService.createCliper(userId, title, description, videoUrl, duration, videoFile);
-            return ResponseEntity.ok(new CliperDTO(cliper));
+            // El servicio guarda el archivo; el procesamiento continúa en segundo plano:
+            // consultar /{id}/status o /{id}/events
+            Cliper cliper = cliperService.createCliper(userId, title, description, null, duration, videoFile);
+            return ResponseEntity.accepted().body(new CliperDTO(cliper));
+        } catch (Exception e) {
+            throw new RuntimeException("Error al subir cliper: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Subida en streaming con la API de commons-fileupload: el video se escribe en su
+     * ubicación definitiva mientras se recibe, sin el archivo temporal de MultipartFile.
+     * Acepta los mismos campos que /upload (video, title, description).
+     */
+    @PostMapping(value = "/upload/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('CANDIDATE')")
+    public ResponseEntity<CliperDTO> uploadCliperStream(HttpServletRequest request) {
+        try {
+            StoredBlob video = null;
+            String userId = getCurrentUserId();
+
+            FileUpload upload = new FileUpload();
+            upload.setFileSizeMax(multipartProperties.getMaxFileSize().toBytes());
+            upload.setSizeMax(multipartProperties.getMaxRequestSize().toBytes());
+
+            Map<String, String> fields = new HashMap<>();
+            FileItemIterator items = upload.getItemIterator(new JakartaRequestContext(request));
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                try (InputStream stream = item.openStream()) {
+                    if (item.isFormField()) {
+                        fields.put(item.getFieldName(), Streams.asString(stream, StandardCharsets.UTF_8.name()));
+                    } else if ("video".equals(item.getFieldName()) && video == null) {
+                        video = cliperService.storeVideo(stream, item.getName(), item.getContentType(),
+                                multipartProperties.getMaxFileSize().toBytes());
+                    }
+                }
+            }
+            if (video == null) {
+                throw new IllegalArgumentException("Falta el archivo de video");
+            }
+
+            // Si algo falla, el video queda sin referencias y se recolecta
+            Cliper cliper = cliperService.createCliper(userId, fields.get("title"), fields.get("description"), video, extractVideoDuration());
+            return ResponseEntity.accepted().body(new CliperDTO(cliper));
         } catch (Exception e) {
             throw new RuntimeException("Error al subir cliper: " + e.getMessage(), e);
         }
@@ -72,7 +128,7 @@ public class CliperController {
 
             // Para este endpoint sin archivo, pasamos null y usaremos procesamiento simulado
             Cliper cliper = cliperService.createCliper(userId, title, description, videoUrl, duration, null);
-            return ResponseEntity.ok(new CliperDTO(cliper));
+            return ResponseEntity.accepted().body(new CliperDTO(cliper));
         } catch (Exception e) {
             throw new RuntimeException("Error al crear cliper: " + e.getMessage(), e);
         }
@@ -85,6 +141,29 @@ public class CliperController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/status")
+    public ResponseEntity<Map<String, Object>> getCliperStatus(@PathVariable String id) {
+        return cliperService.findById(id)
+                .map(cliper -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("id", cliper.getId());
+                    response.put("status", cliper.getStatus().toString());
+                    response.put("updatedAt", cliper.getUpdatedAt());
+                    return ResponseEntity.ok(response);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stream SSE con los cambios de estado del Cliper; se cierra al llegar a DONE o FAILED.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCliperStatus(@PathVariable String id) {
+        return cliperStatusPublisher.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<CliperDTO>> getClipersByUser(@PathVariable String userId) {
         List<Cliper> clipers = cliperService.findByUserId(userId);
@@ -249,31 +328,47 @@ public class CliperController {
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + email));
     }
 
-    private String saveVideoFile(MultipartFile videoFile) {
-        try {
-            // Crear directorio si no existe
-            Path uploadDir = Paths.get("./uploads/videos");
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
-            }
+    private Integer extractVideoDuration() {
+        // Simular extracción de duración
+        // En producción, usaría FFmpeg para obtener la duración real
+        return 30 + (int)(Math.random() * 120); // 30-150 segundos
+    }
 
-            // Generar nombre único para el archivo
-            String fileName = "video_" + System.currentTimeMillis() + "_" + videoFile.getOriginalFilename();
-            Path filePath = uploadDir.resolve(fileName);
+    /**
+     * Adaptador de la petición jakarta.servlet al RequestContext de commons-fileupload,
+     * cuyo ServletRequestContext solo acepta javax.servlet.
+     */
+    private static class JakartaRequestContext implements UploadContext {
+        private final HttpServletRequest request;
 
-            // Guardar el archivo
-            Files.copy(videoFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        JakartaRequestContext(HttpServletRequest request) {
+            this.request = request;
+        }
 
-            // Devolver URL completa para que el frontend pueda acceder
-            return "https://backend.sufactura.store/:8080/uploads/videos/" + fileName;
-        } catch (IOException e) {
-            throw new RuntimeException("Error al guardar el archivo de video: " + e.getMessage());
+        @Override
+        public String getCharacterEncoding() {
+            return request.getCharacterEncoding();
         }
-    }
 
-    private Integer extractVideoDuration(MultipartFile videoFile) {
-        // Simular extracción de duración
-        // En producción, usaría FFmpeg para obtener la duración real
-        return 30 + (int)(Math.random() * 120); // 30-150 segundos
+        @Override
+        public String getContentType() {
+            return request.getContentType();
+        }
+
+        @Override
+        @Deprecated
+        public int getContentLength() {
+            return request.getContentLength();
+        }
+
+        @Override
+        public long contentLength() {
+            return request.getContentLengthLong();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return request.getInputStream();
+        }
     }
 }
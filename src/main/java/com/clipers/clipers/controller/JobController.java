@@ -218,6 +218,25 @@ public class JobController {
         return ResponseEntity.ok(matches);
     }
 
+    @GetMapping("/matches/user/{userId}/paginated")
+    public ResponseEntity<Map<String, Object>> getMatchesForUserPaginated(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<JobMatch> matchesPage = jobService.getMatchesForUser(userId, PageRequest.of(page, size));
+        return ResponseEntity.ok(toMatchesResponse(matchesPage, page));
+    }
+
+    @GetMapping("/{jobId}/matches/paginated")
+    @PreAuthorize("hasRole('COMPANY')")
+    public ResponseEntity<Map<String, Object>> getMatchesForJobPaginated(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<JobMatch> matchesPage = jobService.getMatchesForJob(jobId, PageRequest.of(page, size));
+        return ResponseEntity.ok(toMatchesResponse(matchesPage, page));
+    }
+
     @PostMapping("/{jobId}/apply")
     public ResponseEntity<Void> applyToJob(@PathVariable String jobId) {
         try {
@@ -237,6 +256,16 @@ public class JobController {
         return ResponseEntity.ok(locations);
     }
 
+    private Map<String, Object> toMatchesResponse(Page<JobMatch> matchesPage, int page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("matches", matchesPage.getContent());
+        response.put("hasMore", matchesPage.hasNext());
+        response.put("totalPages", matchesPage.getTotalPages());
+        response.put("currentPage", page);
+        response.put("totalElements", matchesPage.getTotalElements());
+        return response;
+    }
+
     private String getCurrentUserId() {
         try {
             UserDTO currentUser = authService.getCurrentUser();
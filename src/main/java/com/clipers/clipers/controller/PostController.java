@@ -2,8 +2,10 @@ package com.clipers.clipers.controller;
 
 import com.clipers.clipers.entity.Comment;
 import com.clipers.clipers.entity.Post;
+import com.clipers.clipers.entity.StoredBlob;
 import com.clipers.clipers.entity.User;
 import com.clipers.clipers.security.CustomUserDetailsService.CustomUserPrincipal;
+import com.clipers.clipers.service.BlobStore;
 import com.clipers.clipers.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,13 +19,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Controlador que implementa Facade Pattern implícitamente
@@ -35,10 +34,12 @@ import java.util.UUID;
 public class PostController {
 
     private final PostService postService;
+    private final BlobStore blobStore;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService, BlobStore blobStore) {
         this.postService = postService;
+        this.blobStore = blobStore;
     }
 
     @PostMapping
@@ -81,22 +82,12 @@ public class PostController {
                 throw new RuntimeException("Solo se permiten archivos de imagen");
             }
 
-            // Crear directorio si no existe
-            Path uploadPath = Paths.get("uploads", "images");
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // Guardar archivo con nombre por contenido: una imagen ya subida se reutiliza
+            StoredBlob blob;
+            try (InputStream input = file.getInputStream()) {
+                blob = blobStore.store(input, BlobStore.IMAGES, file.getOriginalFilename(), contentType, ".jpg", Long.MAX_VALUE);
             }
-
-            // Generar nombre único para el archivo
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                : ".jpg";
-            String filename = UUID.randomUUID().toString() + extension;
-
-            // Guardar archivo
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath);
+            String filename = blob.getFileName();
 
             // Crear URL completa con el dominio del backend
             String baseUrl = "https://backend.sufactura.store/:8080";
@@ -3,12 +3,17 @@ package com.clipers.clipers.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "job_matches")
+@Table(name = "job_matches", indexes = {
+        @Index(name = "idx_job_matches_job_score", columnList = "job_id, score"),
+        @Index(name = "idx_job_matches_user_score", columnList = "user_id, score")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_job_matches_job_user", columnNames = {"job_id", "user_id"}))
 public class JobMatch {
 
     @Id
@@ -26,12 +31,21 @@ public class JobMatch {
     @NotNull
     private Double score; // 0.0 to 1.0
 
-    @Column(columnDefinition = "TEXT")
+    // Componentes del score; la explicación se genera al leer a partir de ellos
+    private Double skillScore;
+
+    private Double experienceScore;
+
+    private Double locationScore;
+
+    private Integer scoringModelVersion;
+
+    @Transient
     private String explanation;
 
-    @ElementCollection
-    @CollectionTable(name = "job_match_skills", joinColumns = @JoinColumn(name = "job_match_id"))
-    @Column(name = "matched_skill")
+    // Arreglo text[] en la propia fila: sin tabla hija ni consulta extra por match
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "matched_skills", columnDefinition = "text[]")
     private List<String> matchedSkills;
 
     @CreationTimestamp
@@ -60,6 +74,18 @@ public class JobMatch {
     public Double getScore() { return score; }
     public void setScore(Double score) { this.score = score; }
 
+    public Double getSkillScore() { return skillScore; }
+    public void setSkillScore(Double skillScore) { this.skillScore = skillScore; }
+
+    public Double getExperienceScore() { return experienceScore; }
+    public void setExperienceScore(Double experienceScore) { this.experienceScore = experienceScore; }
+
+    public Double getLocationScore() { return locationScore; }
+    public void setLocationScore(Double locationScore) { this.locationScore = locationScore; }
+
+    public Integer getScoringModelVersion() { return scoringModelVersion; }
+    public void setScoringModelVersion(Integer scoringModelVersion) { this.scoringModelVersion = scoringModelVersion; }
+
     public String getExplanation() { return explanation; }
     public void setExplanation(String explanation) { this.explanation = explanation; }
 
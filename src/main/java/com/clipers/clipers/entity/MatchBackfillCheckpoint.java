@@ -0,0 +1,82 @@
+package com.clipers.clipers.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto de control del recálculo masivo de matches. Hay una sola fila por tipo de backfill;
+ * se actualiza al terminar cada tramo de vacantes para poder reanudar tras un reinicio.
+ */
+@Entity
+@Table(name = "match_backfill_checkpoints")
+public class MatchBackfillCheckpoint {
+
+    public static final String JOB_MATCHES = "job-matches";
+
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // Última vacante procesada (recorrido en orden de id)
+    private String lastJobId;
+
+    private long jobsProcessed;
+
+    private long jobsTotal;
+
+    private long rowsWritten;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    // Constructors
+    public MatchBackfillCheckpoint() {}
+
+    public MatchBackfillCheckpoint(String id) {
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getLastJobId() { return lastJobId; }
+    public void setLastJobId(String lastJobId) { this.lastJobId = lastJobId; }
+
+    public long getJobsProcessed() { return jobsProcessed; }
+    public void setJobsProcessed(long jobsProcessed) { this.jobsProcessed = jobsProcessed; }
+
+    public long getJobsTotal() { return jobsTotal; }
+    public void setJobsTotal(long jobsTotal) { this.jobsTotal = jobsTotal; }
+
+    public long getRowsWritten() { return rowsWritten; }
+    public void setRowsWritten(long rowsWritten) { this.rowsWritten = rowsWritten; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+}
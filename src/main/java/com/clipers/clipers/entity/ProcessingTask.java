@@ -0,0 +1,100 @@
+package com.clipers.clipers.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tarea persistente de procesamiento de un Cliper. Como mucho hay una por Cliper.
+ * Un nodo la toma con un lease (leaseToken + leaseExpiresAt); si el nodo cae,
+ * el lease expira y otro la retoma. Al terminar con éxito la fila se elimina.
+ */
+@Entity
+@Table(name = "processing_tasks", indexes = {
+        @Index(name = "idx_processing_tasks_due", columnList = "status, next_attempt_at")
+})
+public class ProcessingTask {
+
+    @Id
+    @Column(name = "cliper_id")
+    private String cliperId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Identifica el lease vigente: un nodo cuyo lease expiró no puede cerrar la tarea
+    @Column(name = "lease_token")
+    private String leaseToken;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ProcessingTask() {}
+
+    public ProcessingTask(String cliperId) {
+        this.cliperId = cliperId;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    /**
+     * Vuelve a dejar la tarea pendiente desde cero, p. ej. al reintentar un Cliper fallido.
+     */
+    public void reset() {
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+        this.leaseToken = null;
+        this.leaseExpiresAt = null;
+        this.lastError = null;
+    }
+
+    // Getters and Setters
+    public String getCliperId() { return cliperId; }
+    public void setCliperId(String cliperId) { this.cliperId = cliperId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLeaseToken() { return leaseToken; }
+    public void setLeaseToken(String leaseToken) { this.leaseToken = leaseToken; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public enum Status {
+        PENDING, RUNNING, FAILED
+    }
+}
@@ -0,0 +1,79 @@
+package com.clipers.clipers.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archivo subido, direccionado por el SHA-256 de su contenido. Subidas idénticas comparten
+ * el mismo archivo; refCount cuenta los Clipers y publicaciones que lo usan y, al llegar
+ * a cero, el archivo puede recolectarse.
+ */
+@Entity
+@Table(name = "stored_blobs", indexes = {
+        @Index(name = "idx_stored_blobs_ref_count", columnList = "ref_count, uploaded_at")
+})
+public class StoredBlob {
+
+    // SHA-256 en hexadecimal
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // Ruta relativa al directorio de uploads, p. ej. "videos/<sha256>.mp4"
+    @Column(nullable = false)
+    private String path;
+
+    private long size;
+
+    private String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    // Última vez que se subió este contenido; marca el inicio del periodo de gracia
+    // antes de recolectarlo sin referencias (p. ej. imagen subida sin publicación aún)
+    @Column(name = "uploaded_at")
+    private LocalDateTime uploadedAt;
+
+    // Constructors
+    public StoredBlob() {}
+
+    public StoredBlob(String id, String path, long size, String contentType) {
+        this.id = id;
+        this.path = path;
+        this.size = size;
+        this.contentType = contentType;
+        this.uploadedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public int getRefCount() { return refCount; }
+    public void setRefCount(int refCount) { this.refCount = refCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUploadedAt() { return uploadedAt; }
+    public void setUploadedAt(LocalDateTime uploadedAt) { this.uploadedAt = uploadedAt; }
+
+    public String getFileName() {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
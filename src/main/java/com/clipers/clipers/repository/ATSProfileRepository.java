@@ -1,11 +1,13 @@
 package com.clipers.clipers.repository;
 
 import com.clipers.clipers.entity.ATSProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +26,22 @@ public interface ATSProfileRepository extends JpaRepository<ATSProfile, String>
            "LOWER(s.name) LIKE LOWER(CONCAT('%', :skill, '%'))")
     List<ATSProfile> findBySkillsContaining(@Param("skill") String skill);
     
+    @Query("SELECT a.user.id, s.name FROM ATSProfile a JOIN a.skills s")
+    List<Object[]> findAllUserSkillPairs();
+    
+    // Lectura por tramos (keyset) para el matching: ids ordenados y luego cada colección en su propia consulta
+    @Query("SELECT a.id FROM ATSProfile a WHERE a.id > :afterId ORDER BY a.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Pageable pageable);
+    
+    @Query("SELECT DISTINCT a FROM ATSProfile a JOIN FETCH a.user LEFT JOIN FETCH a.skills WHERE a.id IN :ids")
+    List<ATSProfile> findWithSkillsByIdIn(@Param("ids") Collection<String> ids);
+    
+    @Query("SELECT DISTINCT a FROM ATSProfile a LEFT JOIN FETCH a.experience WHERE a.id IN :ids")
+    List<ATSProfile> fetchExperienceByIdIn(@Param("ids") Collection<String> ids);
+    
+    @Query("SELECT DISTINCT a FROM ATSProfile a LEFT JOIN FETCH a.languages WHERE a.id IN :ids")
+    List<ATSProfile> fetchLanguagesByIdIn(@Param("ids") Collection<String> ids);
+    
     @Query("SELECT COUNT(a) FROM ATSProfile a WHERE a.user.role = 'CANDIDATE'")
     Long countCandidateProfiles();
 }
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CliperRepository extends JpaRepository<Cliper, String> {
@@ -18,6 +19,9 @@ public interface CliperRepository extends JpaRepository<Cliper, String> {
     Page<Cliper> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
     
     List<Cliper> findByStatus(Cliper.Status status);
+
+    @Query("SELECT c.status FROM Cliper c WHERE c.id = :id")
+    Optional<Cliper.Status> findStatusById(@Param("id") String id);
     
     Page<Cliper> findByStatusOrderByCreatedAtDesc(Cliper.Status status, Pageable pageable);
     
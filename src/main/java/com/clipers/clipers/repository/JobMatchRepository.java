@@ -24,12 +24,22 @@ public interface JobMatchRepository extends JpaRepository<JobMatch, String> {
     
     Page<JobMatch> findByJobIdOrderByScoreDesc(String jobId, Pageable pageable);
     
+    long countByJobId(String jobId);
+    
+    Optional<JobMatch> findFirstByJobIdOrderByScoreAsc(String jobId);
+    
     @Query("SELECT jm FROM JobMatch jm WHERE jm.user.id = :userId AND jm.score >= :minScore ORDER BY jm.score DESC")
     List<JobMatch> findHighScoringMatchesForUser(@Param("userId") String userId, @Param("minScore") Double minScore);
     
     @Query("SELECT jm FROM JobMatch jm WHERE jm.job.id = :jobId AND jm.score >= :minScore ORDER BY jm.score DESC")
     List<JobMatch> findHighScoringMatchesForJob(@Param("jobId") String jobId, @Param("minScore") Double minScore);
     
+    @Query("SELECT jm FROM JobMatch jm WHERE jm.scoringModelVersion IS NULL OR jm.scoringModelVersion <> :version")
+    List<JobMatch> findStaleMatches(@Param("version") Integer version, Pageable pageable);
+    
+    @Query("SELECT COUNT(jm) FROM JobMatch jm WHERE jm.scoringModelVersion IS NULL OR jm.scoringModelVersion <> :version")
+    long countStaleMatches(@Param("version") Integer version);
+    
     @Query("SELECT AVG(jm.score) FROM JobMatch jm WHERE jm.user.id = :userId")
     Double getAverageScoreForUser(@Param("userId") String userId);
 }
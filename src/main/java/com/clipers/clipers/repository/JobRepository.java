@@ -48,6 +48,12 @@ public interface JobRepository extends JpaRepository<Job, String> {
         Pageable pageable
     );
     
+    @Query("SELECT j.id FROM Job j WHERE j.isActive = true AND j.id > :afterId ORDER BY j.id")
+    List<String> findActiveIdsAfter(@Param("afterId") String afterId, Pageable pageable);
+    
+    @Query("SELECT COUNT(j) FROM Job j WHERE j.isActive = true AND j.id > :afterId")
+    long countActiveAfter(@Param("afterId") String afterId);
+    
     @Query("SELECT DISTINCT j.location FROM Job j WHERE j.isActive = true AND j.location IS NOT NULL")
     List<String> findAllActiveJobLocations();
 }
@@ -0,0 +1,9 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.MatchBackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MatchBackfillCheckpointRepository extends JpaRepository<MatchBackfillCheckpoint, String> {
+}
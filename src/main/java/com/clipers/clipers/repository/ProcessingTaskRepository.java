@@ -0,0 +1,25 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.ProcessingTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProcessingTaskRepository extends JpaRepository<ProcessingTask, String> {
+
+    /**
+     * Bloquea las tareas listas para ejecutarse: pendientes cuyo turno llegó y en curso
+     * cuyo lease expiró (el nodo que las tenía cayó). SKIP LOCKED permite que varios
+     * nodos tomen tareas a la vez sin esperarse ni tomar la misma.
+     */
+    @Query(value = "SELECT * FROM processing_tasks " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "OR (status = 'RUNNING' AND lease_expires_at < :now) " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ProcessingTask> lockDueTasks(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
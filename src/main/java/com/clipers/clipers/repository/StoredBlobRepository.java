@@ -0,0 +1,30 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.StoredBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StoredBlob b WHERE b.id = :id")
+    Optional<StoredBlob> findByIdForUpdate(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + :delta WHERE b.id = :id")
+    int adjustRefCount(@Param("id") String id, @Param("delta") int delta);
+
+    @Query("SELECT b.id FROM StoredBlob b WHERE b.refCount <= 0 AND b.uploadedAt < :before ORDER BY b.uploadedAt")
+    List<String> findOrphanIds(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -21,11 +21,14 @@ public class ATSProfileService {
 
     private final ATSProfileRepository atsProfileRepository;
     private final UserRepository userRepository;
+    private final CandidateFeatureCache candidateFeatureCache;
 
     @Autowired
-    public ATSProfileService(ATSProfileRepository atsProfileRepository, UserRepository userRepository) {
+    public ATSProfileService(ATSProfileRepository atsProfileRepository, UserRepository userRepository,
+                             CandidateFeatureCache candidateFeatureCache) {
         this.atsProfileRepository = atsProfileRepository;
         this.userRepository = userRepository;
+        this.candidateFeatureCache = candidateFeatureCache;
     }
 
     public Optional<ATSProfile> findByUserId(String userId) {
@@ -136,7 +139,9 @@ public class ATSProfileService {
             }
         }
 
-        return atsProfileRepository.save(profile);
+        ATSProfile saved = atsProfileRepository.save(profile);
+        candidateFeatureCache.refresh(saved);
+        return saved;
     }
 
     public void deleteProfile(String userId) {
@@ -144,6 +149,7 @@ public class ATSProfileService {
                 .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
 
         atsProfileRepository.delete(profile);
+        candidateFeatureCache.invalidate(userId);
     }
 
     // Education management methods
@@ -189,6 +195,7 @@ public class ATSProfileService {
 
         profile.addExperience(company, position, description);
         atsProfileRepository.save(profile);
+        candidateFeatureCache.refresh(profile);
         // Return the last added experience
         return profile.getExperience().get(profile.getExperience().size() - 1);
     }
@@ -207,6 +214,7 @@ public class ATSProfileService {
         experience.setDescription(description);
 
         atsProfileRepository.save(profile);
+        candidateFeatureCache.refresh(profile);
         return experience;
     }
 
@@ -216,6 +224,7 @@ public class ATSProfileService {
 
         profile.getExperience().removeIf(e -> e.getId().equals(experienceId));
         atsProfileRepository.save(profile);
+        candidateFeatureCache.refresh(profile);
     }
 
     // Skills management methods
@@ -225,6 +234,7 @@ public class ATSProfileService {
 
         profile.addSkill(name, level, category);
         atsProfileRepository.save(profile);
+        candidateFeatureCache.refresh(profile);
         // Return the last added skill
         return profile.getSkills().get(profile.getSkills().size() - 1);
     }
@@ -243,6 +253,7 @@ public class ATSProfileService {
         skill.setCategory(category);
 
         atsProfileRepository.save(profile);
+        candidateFeatureCache.refresh(profile);
         return skill;
     }
 
@@ -252,5 +263,6 @@ public class ATSProfileService {
 
         profile.getSkills().removeIf(s -> s.getId().equals(skillId));
         atsProfileRepository.save(profile);
+        candidateFeatureCache.refresh(profile);
     }
 }
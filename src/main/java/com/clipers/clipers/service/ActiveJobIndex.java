@@ -0,0 +1,155 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.repository.JobRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de las vacantes activas construido a partir de job_skills:
+ * id de habilidad -> vacantes que la piden. Lo usa el matching inverso para puntuar
+ * un candidato solo contra las vacantes con las que comparte alguna habilidad.
+ */
+@Component
+public class ActiveJobIndex {
+
+    private final JobRepository jobRepository;
+    private final SkillDictionary skillDictionary;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, JobFeatures> jobs = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> postings = new ConcurrentHashMap<>();
+    // Vacantes sin habilidades: compiten con cualquier candidato (score de habilidades neutro)
+    private final Set<String> jobsWithoutSkills = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready = false;
+
+    public ActiveJobIndex(JobRepository jobRepository,
+                          SkillDictionary skillDictionary,
+                          PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.skillDictionary = skillDictionary;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<JobFeatures> loaded = loadActiveJobs();
+            synchronized (this) {
+                for (JobFeatures features : loaded) {
+                    if (!jobs.containsKey(features.getJobId())) {
+                        apply(features);
+                    }
+                }
+            }
+            ready = true;
+            System.out.println("Índice de vacantes activas cargado: " + jobs.size() + " vacantes");
+        } catch (Exception e) {
+            System.err.println("Error cargando índice de vacantes, se consultará la base de datos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reindexa la vacante al confirmar la transacción; si quedó inactiva se retira del índice.
+     */
+    public void update(Job job) {
+        JobFeatures features = JobFeatures.from(job, skillDictionary);
+        boolean active = Boolean.TRUE.equals(job.getIsActive());
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                if (active) {
+                    apply(features);
+                } else {
+                    removeNow(features.getJobId());
+                }
+            }
+        });
+    }
+
+    public void remove(String jobId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                removeNow(jobId);
+            }
+        });
+    }
+
+    public JobFeatures get(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Vacantes activas que comparten alguna habilidad con el candidato, más las que no piden habilidades.
+     * Mientras el índice no está cargado se consulta la base de datos con el mismo filtro.
+     */
+    public List<JobFeatures> findJobs(SkillSet candidateSkills) {
+        if (!ready) {
+            return loadActiveJobs().stream()
+                    .filter(job -> job.getSkills().isEmpty() || job.getSkills().intersectionSize(candidateSkills) > 0)
+                    .toList();
+        }
+
+        Set<String> jobIds = new HashSet<>(jobsWithoutSkills);
+        for (int i = 0; i < candidateSkills.size(); i++) {
+            Set<String> posting = postings.get(candidateSkills.get(i));
+            if (posting != null) {
+                jobIds.addAll(posting);
+            }
+        }
+
+        List<JobFeatures> result = new ArrayList<>(jobIds.size());
+        for (String jobId : jobIds) {
+            JobFeatures features = jobs.get(jobId);
+            if (features != null) {
+                result.add(features);
+            }
+        }
+        return result;
+    }
+
+    private List<JobFeatures> loadActiveJobs() {
+        return readOnlyTransaction.execute(status -> jobRepository.findByIsActiveTrue().stream()
+                .map(job -> JobFeatures.from(job, skillDictionary))
+                .toList());
+    }
+
+    private void apply(JobFeatures features) {
+        removeNow(features.getJobId());
+        jobs.put(features.getJobId(), features);
+        SkillSet skills = features.getSkills();
+        if (skills.isEmpty()) {
+            jobsWithoutSkills.add(features.getJobId());
+            return;
+        }
+        for (int i = 0; i < skills.size(); i++) {
+            postings.computeIfAbsent(skills.get(i), id -> ConcurrentHashMap.newKeySet()).add(features.getJobId());
+        }
+    }
+
+    private void removeNow(String jobId) {
+        JobFeatures previous = jobs.remove(jobId);
+        jobsWithoutSkills.remove(jobId);
+        if (previous == null) {
+            return;
+        }
+        SkillSet skills = previous.getSkills();
+        for (int i = 0; i < skills.size(); i++) {
+            postings.computeIfPresent(skills.get(i), (id, jobIds) -> {
+                jobIds.remove(jobId);
+                return jobIds.isEmpty() ? null : jobIds;
+            });
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.StoredBlob;
+import com.clipers.clipers.repository.StoredBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Almacén de uploads direccionado por contenido. Cada archivo se guarda como
+ * {@code <categoría>/<sha256><ext>}: subir dos veces el mismo video o imagen reutiliza
+ * el archivo existente. Los Clipers y publicaciones que apuntan a un blob cuentan como
+ * referencias ({@link #acquire}/{@link #release}); cuando no quedan referencias y pasó
+ * el periodo de gracia desde la última subida, el archivo se elimina.
+ */
+@Component
+public class BlobStore {
+
+    public static final String VIDEOS = "videos";
+    public static final String IMAGES = "images";
+
+    private static final Pattern BLOB_FILE_NAME = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final StreamingUploadWriter streamingUploadWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate collectTransaction;
+    private final Path root;
+    private final Duration orphanGrace;
+    private final int collectBatchSize;
+
+    private final Counter storedCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter collectedCounter;
+
+    public BlobStore(StoredBlobRepository storedBlobRepository,
+                     StreamingUploadWriter streamingUploadWriter,
+                     PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry,
+                     @Value("${file.upload.dir:./uploads}") String uploadDir,
+                     @Value("${file.upload.orphan-grace-minutes:60}") long orphanGraceMinutes,
+                     @Value("${file.upload.collect-batch-size:100}") int collectBatchSize) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.streamingUploadWriter = streamingUploadWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Transacción propia: la recolección corre en el afterCommit de release(), donde
+        // unirse a la transacción ya confirmada dejaría el borrado sin escribir
+        this.collectTransaction = new TransactionTemplate(transactionManager);
+        this.collectTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.root = Paths.get(uploadDir);
+        this.orphanGrace = Duration.ofMinutes(orphanGraceMinutes);
+        this.collectBatchSize = collectBatchSize;
+        this.storedCounter = meterRegistry.counter("uploads.blobs", "outcome", "stored");
+        this.deduplicatedCounter = meterRegistry.counter("uploads.blobs", "outcome", "deduplicated");
+        this.collectedCounter = meterRegistry.counter("uploads.blobs", "outcome", "collected");
+    }
+
+    /**
+     * Guarda el contenido del stream (una sola pasada, con SHA-256 al vuelo) y devuelve el blob,
+     * nuevo o existente. El blob queda sin referencias hasta que una entidad lo adquiere.
+     */
+    public StoredBlob store(InputStream input, String category, String originalFilename,
+                            String contentType, String defaultExtension, long maxBytes) throws IOException {
+        Path temp = root.resolve(category).resolve(".upload-" + UUID.randomUUID() + ".part");
+        StoredUpload upload = streamingUploadWriter.write(input, temp, maxBytes);
+        String extension = extensionOf(originalFilename, defaultExtension);
+        try {
+            return register(upload, category, extension, contentType);
+        } catch (DataIntegrityViolationException e) {
+            // Otra subida del mismo contenido insertó el blob a la vez: reutilizarlo
+            return register(upload, category, extension, contentType);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private StoredBlob register(StoredUpload upload, String category, String extension, String contentType) {
+        String id = upload.sha256();
+        return transactionTemplate.execute(status -> {
+            Optional<StoredBlob> existing = storedBlobRepository.findByIdForUpdate(id);
+            StoredBlob blob;
+            if (existing.isPresent()) {
+                blob = existing.get();
+                blob.setUploadedAt(LocalDateTime.now());
+                deduplicatedCounter.increment();
+            } else {
+                blob = new StoredBlob(id, category + "/" + id + extension, upload.size(), contentType);
+                storedCounter.increment();
+            }
+
+            Path target = resolve(blob);
+            if (Files.notExists(target)) {
+                moveInto(upload.path(), target);
+            }
+            return storedBlobRepository.save(blob);
+        });
+    }
+
+    public Path resolve(StoredBlob blob) {
+        return root.resolve(blob.getPath());
+    }
+
+    /**
+     * Ruta en disco del blob al que apunta la URL, si la URL es de un blob registrado.
+     */
+    public Optional<Path> resolveUrl(String url) {
+        return idFromUrl(url)
+                .flatMap(storedBlobRepository::findById)
+                .map(this::resolve);
+    }
+
+    /**
+     * Suma una referencia al blob al que apunta la URL (no hace nada si no es un blob).
+     * Debe llamarse dentro de la transacción que guarda la entidad.
+     */
+    public void acquire(String url) {
+        idFromUrl(url).ifPresent(id -> storedBlobRepository.adjustRefCount(id, 1));
+    }
+
+    /**
+     * Resta una referencia; tras confirmar, el blob se recolecta si quedó sin referencias.
+     */
+    public void release(String url) {
+        idFromUrl(url).ifPresent(id -> {
+            if (storedBlobRepository.adjustRefCount(id, -1) > 0) {
+                TransactionCallbacks.afterCommit(() -> collectIfOrphan(id));
+            }
+        });
+    }
+
+    /**
+     * Recolecta los blobs que siguen sin referencias pasado el periodo de gracia,
+     * p. ej. imágenes subidas para una publicación que nunca se creó.
+     */
+    @Scheduled(fixedDelayString = "${file.upload.collect-interval-ms:900000}",
+               initialDelayString = "${file.upload.collect-interval-ms:900000}")
+    public void collectOrphans() {
+        try {
+            List<String> orphanIds = storedBlobRepository.findOrphanIds(
+                    LocalDateTime.now().minus(orphanGrace), PageRequest.of(0, collectBatchSize));
+            orphanIds.forEach(this::collectIfOrphan);
+        } catch (Exception e) {
+            System.err.println("Error recolectando uploads sin referencias: " + e.getMessage());
+        }
+    }
+
+    private void collectIfOrphan(String id) {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(orphanGrace);
+            collectTransaction.executeWithoutResult(status -> storedBlobRepository.findByIdForUpdate(id)
+                    .filter(blob -> blob.getRefCount() <= 0 && blob.getUploadedAt().isBefore(cutoff))
+                    .ifPresent(blob -> {
+                        // Con la fila bloqueada, una subida concurrente del mismo contenido espera
+                        // a que se borren archivo y fila, y vuelve a crearlos
+                        try {
+                            Files.deleteIfExists(resolve(blob));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        storedBlobRepository.delete(blob);
+                        collectedCounter.increment();
+                    }));
+        } catch (Exception e) {
+            System.err.println("Error recolectando upload " + id + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Extrae el SHA-256 de una URL de upload con nombre direccionado por contenido.
+     */
+    public static Optional<String> idFromUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return Optional.empty();
+        }
+        String fileName = url.substring(url.lastIndexOf('/') + 1);
+        Matcher matcher = BLOB_FILE_NAME.matcher(fileName);
+        return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private static String extensionOf(String originalFilename, String defaultExtension) {
+        if (originalFilename != null && originalFilename.contains(".")) {
+            String extension = originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+            if (EXTENSION.matcher(extension).matches()) {
+                return extension;
+            }
+        }
+        return defaultExtension;
+    }
+
+    private static void moveInto(Path source, Path target) {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Caché de instantáneas {@link CandidateFeatures} por usuario.
+ * Las rutas que escriben el perfil ATS llaman a {@link #refresh(ATSProfile)} o
+ * {@link #invalidate(String)}; el matching solo lee de aquí. También mantiene
+ * sincronizado el {@link CandidateSkillIndex} y publica {@link CandidateProfileChangedEvent}
+ * cuando cambia algún dato que interviene en el score.
+ */
+@Component
+public class CandidateFeatureCache {
+
+    private final ATSProfileRepository atsProfileRepository;
+    private final SkillDictionary skillDictionary;
+    private final CandidateSkillIndex candidateSkillIndex;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CandidateProfileReader candidateProfileReader;
+
+    private final Map<String, CandidateFeatures> features = new ConcurrentHashMap<>();
+    private volatile boolean complete = false;
+
+    public CandidateFeatureCache(ATSProfileRepository atsProfileRepository,
+                                 SkillDictionary skillDictionary,
+                                 CandidateSkillIndex candidateSkillIndex,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 CandidateProfileReader candidateProfileReader) {
+        this.atsProfileRepository = atsProfileRepository;
+        this.skillDictionary = skillDictionary;
+        this.candidateSkillIndex = candidateSkillIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.candidateProfileReader = candidateProfileReader;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            loadAll();
+            System.out.println("Caché de candidatos cargada: " + features.size() + " perfiles");
+        } catch (Exception e) {
+            System.err.println("Error cargando caché de candidatos, se cargará bajo demanda: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Devuelve la instantánea del candidato, cargándola desde la base de datos si no está en caché.
+     */
+    public CandidateFeatures get(String userId) {
+        CandidateFeatures cached = features.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        CandidateFeatures loaded = readOnlyTransaction.execute(status -> atsProfileRepository.findByUserId(userId)
+                .map(profile -> CandidateFeatures.from(profile, skillDictionary))
+                .orElse(null));
+        if (loaded != null) {
+            features.putIfAbsent(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Entrega todas las instantáneas para una pasada completa de matching. Con la caché
+     * completa se recorre en memoria; si no, se leen de la base de datos por tramos
+     * (publicándolas en la caché) en lugar de materializar todos los perfiles a la vez.
+     */
+    public void forEachChunk(Consumer<Collection<CandidateFeatures>> consumer) {
+        if (complete) {
+            consumer.accept(features.values());
+            return;
+        }
+        candidateProfileReader.forEachChunk(chunk -> {
+            publish(chunk);
+            consumer.accept(chunk);
+        });
+        complete = true;
+    }
+
+    /**
+     * Recalcula la instantánea del perfil recién escrito; se publica al confirmar la transacción.
+     */
+    public void refresh(ATSProfile profile) {
+        CandidateFeatures snapshot = CandidateFeatures.from(profile, skillDictionary);
+        TransactionCallbacks.afterCommit(() -> {
+            CandidateFeatures previous = features.put(snapshot.getUserId(), snapshot);
+            if (!snapshot.sameScoringInputs(previous)) {
+                eventPublisher.publishEvent(new CandidateProfileChangedEvent(snapshot.getUserId()));
+            }
+        });
+        candidateSkillIndex.update(profile);
+    }
+
+    public void invalidate(String userId) {
+        TransactionCallbacks.afterCommit(() -> features.remove(userId));
+        candidateSkillIndex.remove(userId);
+    }
+
+    public void clear() {
+        TransactionCallbacks.afterCommit(features::clear);
+        candidateSkillIndex.clear();
+    }
+
+    private void loadAll() {
+        candidateProfileReader.forEachChunk(this::publish);
+        complete = true;
+    }
+
+    private void publish(List<CandidateFeatures> loaded) {
+        // Una actualización concurrente más reciente no se sobrescribe con datos de la carga
+        loaded.forEach(snapshot -> features.putIfAbsent(snapshot.getUserId(), snapshot));
+    }
+}
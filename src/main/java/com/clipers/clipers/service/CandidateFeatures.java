@@ -0,0 +1,95 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Skill;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Instantánea inmutable de los datos de un candidato que usa el matching.
+ * Se calcula una vez al escribir el perfil ATS, de modo que puntuar a un candidato
+ * no recorre colecciones perezosas ni recalcula periodos de experiencia.
+ */
+public final class CandidateFeatures {
+
+    private final String userId;
+    private final boolean hasExperience;
+    private final int totalYearsOfExperience;
+    private final SkillSet skills;
+    private final Map<String, Language.LanguageLevel> languageLevels;
+    private final String location;
+
+    public CandidateFeatures(String userId, boolean hasExperience, int totalYearsOfExperience,
+                             SkillSet skills, Map<String, Language.LanguageLevel> languageLevels, String location) {
+        this.userId = userId;
+        this.hasExperience = hasExperience;
+        this.totalYearsOfExperience = totalYearsOfExperience;
+        this.skills = skills;
+        this.languageLevels = Map.copyOf(languageLevels);
+        this.location = location;
+    }
+
+    /**
+     * Construye la instantánea a partir de un perfil gestionado (las colecciones deben poder cargarse).
+     */
+    public static CandidateFeatures from(ATSProfile profile, SkillDictionary skillDictionary) {
+        List<Skill> profileSkills = profile.getSkills();
+        int[] skillIds = new int[profileSkills.size()];
+        for (int i = 0; i < skillIds.length; i++) {
+            skillIds[i] = skillDictionary.intern(profileSkills.get(i).getName());
+        }
+
+        List<Experience> experience = profile.getExperience();
+        int totalYears = 0;
+        LocalDate today = LocalDate.now();
+        for (Experience exp : experience) {
+            // Las experiencias generadas desde el Cliper no siempre tienen fecha de inicio
+            if (exp.getStartDate() == null) {
+                continue;
+            }
+            LocalDate endDate = exp.getEndDate() != null ? exp.getEndDate() : today;
+            totalYears += Period.between(exp.getStartDate(), endDate).getYears();
+        }
+
+        Map<String, Language.LanguageLevel> languages = new HashMap<>();
+        for (Language language : profile.getLanguages()) {
+            if (language.getName() != null && language.getLevel() != null) {
+                languages.put(SkillDictionary.normalize(language.getName()), language.getLevel());
+            }
+        }
+
+        // El perfil aún no almacena ubicación del candidato
+        return new CandidateFeatures(profile.getUser().getId(), !experience.isEmpty(), totalYears,
+                SkillSet.of(skillIds), languages, null);
+    }
+
+    /**
+     * Indica si algún dato que interviene en el score cambió respecto a otra instantánea.
+     */
+    public boolean sameScoringInputs(CandidateFeatures other) {
+        return other != null
+                && hasExperience == other.hasExperience
+                && totalYearsOfExperience == other.totalYearsOfExperience
+                && skills.equals(other.skills)
+                && Objects.equals(location, other.location);
+    }
+
+    public String getUserId() { return userId; }
+
+    public boolean hasExperience() { return hasExperience; }
+
+    public int getTotalYearsOfExperience() { return totalYearsOfExperience; }
+
+    public SkillSet getSkills() { return skills; }
+
+    public Map<String, Language.LanguageLevel> getLanguageLevels() { return languageLevels; }
+
+    public String getLocation() { return location; }
+}
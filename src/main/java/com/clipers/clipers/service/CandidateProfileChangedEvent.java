@@ -0,0 +1,18 @@
+package com.clipers.clipers.service;
+
+/**
+ * Evento publicado, ya confirmada la transacción, cuando cambian los datos de un
+ * perfil ATS que intervienen en el score de matching.
+ */
+public class CandidateProfileChangedEvent {
+
+    private final String userId;
+
+    public CandidateProfileChangedEvent(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,84 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Recorre todos los perfiles ATS en tramos acotados y los entrega ya convertidos
+ * en {@link CandidateFeatures}. Cada tramo pagina por id (keyset) y carga habilidades,
+ * experiencia e idiomas con una consulta por colección, sin N+1. El contexto de
+ * persistencia se vacía después de cada tramo, así que la memoria no crece con el
+ * número de candidatos.
+ */
+@Component
+public class CandidateProfileReader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ATSProfileRepository atsProfileRepository;
+    private final SkillDictionary skillDictionary;
+    private final TransactionTemplate readTransaction;
+    private final int chunkSize;
+
+    public CandidateProfileReader(ATSProfileRepository atsProfileRepository,
+                                  SkillDictionary skillDictionary,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${matching.candidates.chunk-size:500}") int chunkSize) {
+        this.atsProfileRepository = atsProfileRepository;
+        this.skillDictionary = skillDictionary;
+        this.chunkSize = chunkSize;
+        // Transacción propia: limpiar el contexto no debe desasociar entidades de quien llama
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @return número de candidatos entregados
+     */
+    public long forEachChunk(Consumer<List<CandidateFeatures>> consumer) {
+        Long total = readTransaction.execute(status -> {
+            long read = 0;
+            String afterId = "";
+            while (true) {
+                List<String> ids = atsProfileRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                List<ATSProfile> profiles = atsProfileRepository.findWithSkillsByIdIn(ids);
+                // Completan las mismas entidades gestionadas; dos bags no se pueden traer en un solo JOIN FETCH
+                atsProfileRepository.fetchExperienceByIdIn(ids);
+                atsProfileRepository.fetchLanguagesByIdIn(ids);
+
+                List<CandidateFeatures> chunk = new ArrayList<>(profiles.size());
+                for (ATSProfile profile : profiles) {
+                    chunk.add(CandidateFeatures.from(profile, skillDictionary));
+                }
+                entityManager.clear();
+
+                consumer.accept(chunk);
+                read += chunk.size();
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+            }
+            return read;
+        });
+        return total != null ? total : 0;
+    }
+}
@@ -0,0 +1,155 @@
+package com.clipers.clipers.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puntúa un conjunto de candidatos contra una o varias vacantes y devuelve el top-K de cada una.
+ * En modo paralelo el arreglo de instantáneas se parte en tramos sobre un ForkJoinPool
+ * propio: cada hoja llena su propio {@link TopK} sin compartir estado y los resultados
+ * parciales se fusionan al volver. El modo secuencial se conserva para comparar
+ * throughput (métrica matching.scoring.duration etiquetada por modo).
+ * Con varias vacantes se hace una sola pasada sobre los candidatos (matriz vacantes × candidato).
+ */
+@Component
+public class CandidateScoringEngine {
+
+    private final MatchScorer matchScorer;
+    private final boolean parallel;
+    private final int leafSize;
+    private final ForkJoinPool pool;
+
+    private final Timer sequentialTimer;
+    private final Timer parallelTimer;
+    private final Counter sequentialCounter;
+    private final Counter parallelCounter;
+
+    public CandidateScoringEngine(MatchScorer matchScorer,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${matching.scoring.mode:sequential}") String mode,
+                                  @Value("${matching.scoring.parallelism:0}") int parallelism,
+                                  @Value("${matching.scoring.leaf-size:2000}") int leafSize) {
+        this.matchScorer = matchScorer;
+        this.parallel = "parallel".equalsIgnoreCase(mode);
+        this.leafSize = Math.max(1, leafSize);
+        this.pool = parallel
+                ? new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors())
+                : null;
+
+        this.sequentialTimer = meterRegistry.timer("matching.scoring.duration", "mode", "sequential");
+        this.parallelTimer = meterRegistry.timer("matching.scoring.duration", "mode", "parallel");
+        this.sequentialCounter = meterRegistry.counter("matching.scoring.pairs", "mode", "sequential");
+        this.parallelCounter = meterRegistry.counter("matching.scoring.pairs", "mode", "parallel");
+    }
+
+    /**
+     * Devuelve los K mejores candidatos con score mayor o igual a el umbral mínimo del modelo.
+     */
+    public TopK<ScoredCandidate> selectTopK(Collection<CandidateFeatures> candidates, JobFeatures job, int k) {
+        return selectTopK(candidates, List.of(job), k).get(0);
+    }
+
+    /**
+     * Recorre los candidatos una sola vez puntuando cada uno contra todas las vacantes.
+     * El resultado está alineado con la lista de vacantes.
+     */
+    public List<TopK<ScoredCandidate>> selectTopK(Collection<CandidateFeatures> candidates, List<JobFeatures> jobs, int k) {
+        CandidateFeatures[] snapshot = candidates.toArray(new CandidateFeatures[0]);
+        long startedAt = System.nanoTime();
+
+        List<TopK<ScoredCandidate>> result;
+        // Con pocos candidatos no compensa repartir el trabajo
+        if (pool != null && snapshot.length > leafSize) {
+            result = pool.invoke(new ScoreTask(snapshot, 0, snapshot.length, jobs, k));
+            parallelTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            parallelCounter.increment((double) snapshot.length * jobs.size());
+        } else {
+            result = scoreRange(snapshot, 0, snapshot.length, jobs, k);
+            sequentialTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            sequentialCounter.increment((double) snapshot.length * jobs.size());
+        }
+        return result;
+    }
+
+    private List<TopK<ScoredCandidate>> scoreRange(CandidateFeatures[] candidates, int from, int to,
+                                                   List<JobFeatures> jobs, int k) {
+        List<TopK<ScoredCandidate>> best = new ArrayList<>(jobs.size());
+        for (int j = 0; j < jobs.size(); j++) {
+            best.add(new TopK<>(k));
+        }
+
+        for (int i = from; i < to; i++) {
+            for (int j = 0; j < jobs.size(); j++) {
+                JobFeatures job = jobs.get(j);
+                MatchScore score = matchScorer.score(candidates[i], job);
+
+                // Misma regla que la poda por índice: si la vacante pide habilidades,
+                // solo compiten los candidatos que comparten al menos una
+                if (!job.getSkills().isEmpty() && score.getSkillScore() == 0.0) {
+                    continue;
+                }
+                // Solo crear match si el score es significativo
+                if (score.getOverallScore() >= matchScorer.getMinMatchScore()) {
+                    best.get(j).offer(score.getOverallScore(), new ScoredCandidate(candidates[i], score));
+                }
+            }
+        }
+        return best;
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private class ScoreTask extends RecursiveTask<List<TopK<ScoredCandidate>>> {
+
+        private final CandidateFeatures[] candidates;
+        private final int from;
+        private final int to;
+        private final List<JobFeatures> jobs;
+        private final int k;
+
+        ScoreTask(CandidateFeatures[] candidates, int from, int to, List<JobFeatures> jobs, int k) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.jobs = jobs;
+            this.k = k;
+        }
+
+        @Override
+        protected List<TopK<ScoredCandidate>> compute() {
+            if (to - from <= leafSize) {
+                return scoreRange(candidates, from, to, jobs, k);
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(candidates, from, middle, jobs, k);
+            ScoreTask right = new ScoreTask(candidates, middle, to, jobs, k);
+            left.fork();
+            List<TopK<ScoredCandidate>> merged = right.compute();
+            List<TopK<ScoredCandidate>> other = left.join();
+            for (int j = 0; j < merged.size(); j++) {
+                merged.get(j).addAll(other.get(j));
+            }
+            return merged;
+        }
+    }
+}
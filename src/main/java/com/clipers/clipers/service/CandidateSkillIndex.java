@@ -0,0 +1,144 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido en memoria: id de habilidad ({@link SkillDictionary}) -> candidatos que la declaran.
+ * Permite que el matching puntúe solo a los candidatos que comparten al menos
+ * una habilidad con la vacante en lugar de recorrer todos los perfiles ATS.
+ */
+@Component
+public class CandidateSkillIndex {
+
+    private final ATSProfileRepository atsProfileRepository;
+    private final SkillDictionary skillDictionary;
+
+    // skillId -> userIds
+    private final Map<Integer, Set<String>> postings = new ConcurrentHashMap<>();
+    // userId -> skillIds, necesario para retirar las entradas antiguas al actualizar
+    private final Map<String, Set<Integer>> skillsByCandidate = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    public CandidateSkillIndex(ATSProfileRepository atsProfileRepository, SkillDictionary skillDictionary) {
+        this.atsProfileRepository = atsProfileRepository;
+        this.skillDictionary = skillDictionary;
+    }
+
+    /**
+     * Carga inicial desde la base de datos. Los candidatos ya indexados por una
+     * actualización concurrente no se sobrescriben con datos potencialmente viejos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            Map<String, Set<Integer>> loaded = new HashMap<>();
+            for (Object[] row : atsProfileRepository.findAllUserSkillPairs()) {
+                loaded.computeIfAbsent((String) row[0], id -> new HashSet<>()).add(skillDictionary.intern((String) row[1]));
+            }
+            synchronized (this) {
+                loaded.forEach((userId, skills) -> {
+                    if (skillsByCandidate.putIfAbsent(userId, skills) == null) {
+                        skills.forEach(skill -> addPosting(skill, userId));
+                    }
+                });
+            }
+            ready = true;
+            System.out.println("Índice de habilidades cargado: " + skillsByCandidate.size() + " candidatos, "
+                    + postings.size() + " habilidades");
+        } catch (Exception e) {
+            System.err.println("Error cargando índice de habilidades, se usará recorrido completo: " + e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reindexa las habilidades del perfil cuando la transacción actual confirma.
+     */
+    public void update(ATSProfile profile) {
+        String userId = profile.getUser().getId();
+        List<String> skillNames = profile.getSkills().stream().map(Skill::getName).toList();
+        TransactionCallbacks.afterCommit(() -> apply(userId, skillNames));
+    }
+
+    public void remove(String userId) {
+        TransactionCallbacks.afterCommit(() -> apply(userId, List.of()));
+    }
+
+    public void clear() {
+        TransactionCallbacks.afterCommit(() -> {
+            postings.clear();
+            skillsByCandidate.clear();
+        });
+    }
+
+    /**
+     * Devuelve los candidatos cuya lista de postings interseca con las habilidades de la vacante.
+     */
+    public Set<String> findCandidates(Collection<String> jobSkills) {
+        Set<String> candidates = new HashSet<>();
+        for (String skill : jobSkills) {
+            int skillId = skillDictionary.lookup(skill);
+            if (skillId < 0) {
+                continue;
+            }
+            Set<String> posting = postings.get(skillId);
+            if (posting != null) {
+                candidates.addAll(posting);
+            }
+        }
+        return candidates;
+    }
+
+    private synchronized void apply(String userId, Collection<String> skillNames) {
+        Set<Integer> newSkills = new HashSet<>();
+        for (String name : skillNames) {
+            newSkills.add(skillDictionary.intern(name));
+        }
+
+        Set<Integer> oldSkills = skillsByCandidate.getOrDefault(userId, Set.of());
+        for (Integer skill : oldSkills) {
+            if (!newSkills.contains(skill)) {
+                removePosting(skill, userId);
+            }
+        }
+        for (Integer skill : newSkills) {
+            if (!oldSkills.contains(skill)) {
+                addPosting(skill, userId);
+            }
+        }
+
+        if (newSkills.isEmpty()) {
+            skillsByCandidate.remove(userId);
+        } else {
+            skillsByCandidate.put(userId, newSkills);
+        }
+    }
+
+    private void addPosting(Integer skill, String userId) {
+        postings.computeIfAbsent(skill, s -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    private void removePosting(Integer skill, String userId) {
+        postings.computeIfPresent(skill, (s, users) -> {
+            users.remove(userId);
+            return users.isEmpty() ? null : users;
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.clipers.clipers.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado para el procesamiento de Clipers fuera del hilo HTTP.
+ * Limita cuántos videos se envían a la vez al microservicio; un mismo Cliper
+ * no se encola dos veces mientras espera, y con la cola llena la tarea se rechaza.
+ */
+@Component
+public class CliperProcessingExecutor {
+
+    /** Resultado de {@link #submit}. */
+    public enum Submission {
+        /** Se encoló una nueva ejecución. */
+        SCHEDULED,
+        /** El Cliper ya estaba en cola: la ejecución pendiente atiende también esta petición. */
+        MERGED,
+        /** Cola llena o executor apagado. */
+        REJECTED
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pendingClipers = ConcurrentHashMap.newKeySet();
+    private final long shutdownTimeoutSeconds;
+
+    private final Counter submittedCounter;
+    private final Counter rejectedCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Timer queueWaitTimer;
+    private final Timer executionTimer;
+
+    public CliperProcessingExecutor(MeterRegistry meterRegistry,
+                                    @Value("${cliper.processing.threads:2}") int threads,
+                                    @Value("${cliper.processing.queue-capacity:50}") int queueCapacity,
+                                    @Value("${cliper.processing.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CliperThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("cliper.processing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Clipers esperando a ser procesados")
+                .register(meterRegistry);
+        Gauge.builder("cliper.processing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Clipers en procesamiento")
+                .register(meterRegistry);
+
+        this.submittedCounter = meterRegistry.counter("cliper.processing.tasks", "outcome", "submitted");
+        this.rejectedCounter = meterRegistry.counter("cliper.processing.tasks", "outcome", "rejected");
+        this.completedCounter = meterRegistry.counter("cliper.processing.tasks", "outcome", "completed");
+        this.failedCounter = meterRegistry.counter("cliper.processing.tasks", "outcome", "failed");
+        this.queueWaitTimer = Timer.builder("cliper.processing.queue.wait")
+                .description("Tiempo que un Cliper espera en cola antes de procesarse")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("cliper.processing.duration")
+                .description("Duración del procesamiento de cada Cliper")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola el procesamiento de un Cliper. Si ya está en cola, no se duplica
+     * y se devuelve {@link Submission#MERGED}: la tarea recibida no se ejecutará.
+     */
+    public Submission submit(String cliperId, Runnable task) {
+        if (!pendingClipers.add(cliperId)) {
+            return Submission.MERGED;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(cliperId, task, enqueuedAt));
+            submittedCounter.increment();
+            return Submission.SCHEDULED;
+        } catch (RejectedExecutionException e) {
+            pendingClipers.remove(cliperId);
+            rejectedCounter.increment();
+            System.err.println("Cola de procesamiento de clipers llena, rechazado: " + cliperId);
+            return Submission.REJECTED;
+        }
+    }
+
+    private void run(String cliperId, Runnable task, long enqueuedAt) {
+        pendingClipers.remove(cliperId);
+        queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+
+        long startedAt = System.nanoTime();
+        try {
+            task.run();
+            completedCounter.increment();
+        } catch (Exception e) {
+            failedCounter.increment();
+            System.err.println("Error procesando cliper " + cliperId + ": " + e.getMessage());
+        } finally {
+            executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                System.err.println("Procesamiento de clipers no terminó en " + shutdownTimeoutSeconds + "s, cancelando "
+                        + executor.getQueue().size() + " tareas pendientes");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CliperThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cliper-processing-" + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.clipers.clipers.service;
+
+/**
+ * Evento publicado, ya confirmada la transacción, cuando se crea o reinicia la
+ * tarea de procesamiento de un Cliper. Solo adelanta el siguiente sondeo de
+ * {@link ProcessingTaskScheduler}: si se pierde, la tarea igual se ejecuta.
+ */
+public class CliperProcessingRequestedEvent {
+
+    private final String cliperId;
+
+    public CliperProcessingRequestedEvent(String cliperId) {
+        this.cliperId = cliperId;
+    }
+
+    public String getCliperId() {
+        return cliperId;
+    }
+}
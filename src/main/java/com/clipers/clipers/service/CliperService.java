@@ -5,131 +5,252 @@ import com.clipers.clipers.entity.ATSProfile;
 import com.clipers.clipers.entity.Cliper;
 import com.clipers.clipers.entity.Skill;
 import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.ProcessingTask;
+import com.clipers.clipers.entity.StoredBlob;
 import com.clipers.clipers.entity.User;
 import com.clipers.clipers.repository.ATSProfileRepository;
 import com.clipers.clipers.repository.CliperRepository;
+import com.clipers.clipers.repository.ProcessingTaskRepository;
 import com.clipers.clipers.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
  * Servicio que maneja Clipers implementando Chain of Responsibility implícitamente
  * El procesamiento se delega a la entidad Cliper que maneja la cadena internamente
+ *
+ * Las transacciones se declaran por método (o con {@link TransactionTemplate}) para que
+ * ni la escritura del video en disco ni la llamada al microservicio retengan una conexión.
  */
 @Service
-@Transactional
 public class CliperService {
 
     private final CliperRepository cliperRepository;
     private final UserRepository userRepository;
     private final ATSProfileRepository atsProfileRepository;
     private final NotificationService notificationService;
-    private final RestTemplate restTemplate;
-
-    @Value("${video.processing.service.url:https://micoservicioprocesarvideo.onrender.com/upload-video}")
-    private String videoProcessingServiceUrl;
+    private final CandidateFeatureCache candidateFeatureCache;
+    private final VideoProcessingClient videoProcessingClient;
+    private final VideoProcessingCache videoProcessingCache;
+    private final BlobStore blobStore;
+    private final ProcessingTaskRepository processingTaskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CliperStatusPublisher cliperStatusPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public CliperService(CliperRepository cliperRepository,
                          UserRepository userRepository,
                          ATSProfileRepository atsProfileRepository,
                          NotificationService notificationService,
-                         RestTemplate restTemplate) {
+                         CandidateFeatureCache candidateFeatureCache,
+                         VideoProcessingClient videoProcessingClient,
+                         VideoProcessingCache videoProcessingCache,
+                         BlobStore blobStore,
+                         ProcessingTaskRepository processingTaskRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         CliperStatusPublisher cliperStatusPublisher,
+                         PlatformTransactionManager transactionManager) {
         this.cliperRepository = cliperRepository;
         this.userRepository = userRepository;
         this.atsProfileRepository = atsProfileRepository;
         this.notificationService = notificationService;
-        this.restTemplate = restTemplate;
+        this.candidateFeatureCache = candidateFeatureCache;
+        this.videoProcessingClient = videoProcessingClient;
+        this.videoProcessingCache = videoProcessingCache;
+        this.blobStore = blobStore;
+        this.processingTaskRepository = processingTaskRepository;
+        this.eventPublisher = eventPublisher;
+        this.cliperStatusPublisher = cliperStatusPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Template Method implementado implícitamente
-     * Define el flujo de creación y procesamiento de Clipers
-     * Ahora procesa síncronamente antes de guardar para rellenar ATS automáticamente
+     * Define el flujo de creación de Clipers: guarda el Cliper en estado UPLOADED y
+     * encola el procesamiento, que rellena el perfil ATS en segundo plano.
+     * El avance se consulta con {@link #findById} o con {@link CliperStatusPublisher}.
      */
     public Cliper createCliper(String userId, String title, String description, String videoUrl, Integer duration, org.springframework.web.multipart.MultipartFile videoFile) {
-        // Step 1: Validate user
+        // Step 1: Save video file first, outside any transaction
+        if (videoFile != null) {
+            return createCliper(userId, title, description, saveVideoFile(videoFile), duration);
+        }
+        return registerCliper(userId, title, description, videoUrl, duration);
+    }
+
+    /**
+     * Variante para videos ya guardados en el {@link BlobStore}, p. ej. por {@link #storeVideo}.
+     */
+    public Cliper createCliper(String userId, String title, String description, StoredBlob video, Integer duration) {
+        return registerCliper(userId, title, description, videoUrlFor(video), duration);
+    }
+
+    private Cliper registerCliper(String userId, String title, String description, String videoUrl, Integer duration) {
+        // Step 2: Validate user, replace any existing cliper and save the new one as UPLOADED
+        // together with its processing task, so the task survives a restart.
+        // Si falla, el video queda sin referencias y el BlobStore lo recolecta
+        // Step 3 (background) runs in ProcessingTaskScheduler once this commits
+        return transactionTemplate.execute(status -> saveNewCliper(userId, title, description, videoUrl, duration));
+    }
+
+    /**
+     * Guarda el video que llega en streaming en el almacén direccionado por contenido,
+     * calculando tamaño y SHA-256 en la misma pasada. Un video ya subido se reutiliza.
+     */
+    public StoredBlob storeVideo(java.io.InputStream input, String originalFilename, String contentType, long maxBytes) throws java.io.IOException {
+        return blobStore.store(input, BlobStore.VIDEOS, originalFilename, contentType, ".mp4", maxBytes);
+    }
+
+    private Cliper saveNewCliper(String userId, String title, String description, String videoUrl, Integer duration) {
         User user = validateAndGetUser(userId);
 
-        // Step 2: Check if user already has a cliper and delete it if exists
+        // Check if user already has a cliper and delete it if exists
         List<Cliper> existingClipers = cliperRepository.findByUserId(userId);
         if (!existingClipers.isEmpty()) {
             // Delete existing cliper(s) to allow creating a new one
             for (Cliper existingCliper : existingClipers) {
                 cliperRepository.delete(existingCliper);
+                processingTaskRepository.deleteById(existingCliper.getId());
+                blobStore.release(existingCliper.getVideoUrl());
             }
         }
 
-        // Step 3: Save video file first
-        String savedVideoUrl = null;
-        java.nio.file.Path savedFilePath = null;
-        if (videoFile != null) {
-            savedVideoUrl = saveVideoFile(videoFile);
-            savedFilePath = java.nio.file.Paths.get("./uploads/videos", savedVideoUrl.substring(savedVideoUrl.lastIndexOf('/') + 1));
-        }
+        Cliper cliper = new Cliper(title, description, videoUrl, duration, user);
+        blobStore.acquire(videoUrl);
+        cliper.setStatus(Cliper.Status.UPLOADED);
+        cliper = cliperRepository.save(cliper);
+        enqueueProcessing(cliper.getId());
+        return cliper;
+    }
 
-        // Step 4: Process video synchronously before saving cliper
-        VideoProcessingResponse processingResponse = null;
-        if (savedFilePath != null) {
-            processingResponse = callVideoProcessingService(savedFilePath);
-        }
+    /**
+     * Crea (o reinicia) la tarea persistente de procesamiento dentro de la transacción actual
+     * y, tras confirmar, avisa a {@link ProcessingTaskScheduler} para que no espere al siguiente sondeo.
+     */
+    private void enqueueProcessing(String cliperId) {
+        ProcessingTask task = processingTaskRepository.findById(cliperId)
+                .orElseGet(() -> new ProcessingTask(cliperId));
+        task.reset();
+        processingTaskRepository.save(task);
+        TransactionCallbacks.afterCommit(() -> eventPublisher.publishEvent(new CliperProcessingRequestedEvent(cliperId)));
+    }
 
-         // If microservice fails, create simulated data based on expected JSON format
-         if (processingResponse == null) {
-             processingResponse = createSimulatedVideoProcessingResponse();
-         }
+    /**
+     * Ejecuta la tarea de procesamiento de un Cliper en un hilo de {@link CliperProcessingExecutor}:
+     * UPLOADED -> PROCESSING -> DONE. Cada cambio de estado es una transacción corta; la llamada
+     * remota ocurre entre ellas sin conexión de base de datos asignada.
+     *
+     * @return true si la tarea terminó (o el cliper ya no existe); false si debe reintentarse
+     * @throws VideoProcessingBusyException si el microservicio está saturado por llamadas de este
+     *         nodo; la tarea se devuelve a la cola sin usar datos simulados
+     */
+    public boolean runProcessingTask(String cliperId) {
+        if (!updateStatus(cliperId, Cliper.Status.PROCESSING)) {
+            // El cliper se eliminó (p. ej. el usuario subió otro) antes de procesarse
+            return true;
+        }
 
-        // Step 5: Create new cliper with processing results
-        Cliper cliper = new Cliper(title, description, savedVideoUrl != null ? savedVideoUrl : videoUrl, duration, user);
+        try {
+            String videoUrl = transactionTemplate.execute(status -> cliperRepository.findById(cliperId)
+                    .map(Cliper::getVideoUrl)
+                    .orElse(null));
+            // Videos que no están en el BlobStore (URL externa) no tienen archivo que enviar
+            java.nio.file.Path filePath = blobStore.resolveUrl(videoUrl).orElse(null);
+
+            VideoProcessingResponse processingResponse = null;
+            if (filePath != null) {
+                // Un video ya procesado (mismo contenido) reutiliza la respuesta guardada
+                String contentHash = BlobStore.idFromUrl(filePath.getFileName().toString()).orElse(null);
+                if (contentHash != null) {
+                    processingResponse = videoProcessingCache.get(contentHash);
+                }
+                if (processingResponse == null) {
+                    processingResponse = videoProcessingClient.process(filePath);
+                    if (processingResponse != null && contentHash != null) {
+                        videoProcessingCache.put(contentHash, processingResponse);
+                    }
+                }
+            }
 
-        // Set processing data if available
-        if (processingResponse != null) {
-            cliper.setTranscription(processingResponse.getTranscription());
-            cliper.setStatus(Cliper.Status.DONE);
+            // If microservice fails, create simulated data based on expected JSON format
+            if (processingResponse == null) {
+                processingResponse = createSimulatedVideoProcessingResponse();
+            }
 
-            // Extract skills from profile if available
-            if (processingResponse.getProfile() != null) {
-                List<String> skills = extractSkillsFromProfile(processingResponse.getProfile());
-                // Note: Cliper entity might need skills field, for now we'll store in transcription
+            VideoProcessingResponse result = processingResponse;
+            Boolean applied = transactionTemplate.execute(status -> applyProcessingResult(cliperId, result));
+            if (Boolean.TRUE.equals(applied)) {
+                cliperStatusPublisher.publish(cliperId, Cliper.Status.DONE);
             }
-        } else {
-            // Simulated processing
-            cliper.setTranscription("Procesamiento simulado completado");
-            cliper.setStatus(Cliper.Status.DONE);
+            return true;
+        } catch (VideoProcessingBusyException e) {
+            System.out.println("⏳ " + e.getMessage() + ", cliper " + cliperId + " se reintentará");
+            throw e;
+        } catch (Exception e) {
+            System.err.println("Error procesando cliper " + cliperId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Marca el Cliper como FAILED cuando su tarea agotó los reintentos;
+     * el usuario puede volver a lanzarlo con {@link #retryProcessing}.
+     */
+    public void markProcessingFailed(String cliperId) {
+        updateStatus(cliperId, Cliper.Status.FAILED);
+    }
+
+    private boolean applyProcessingResult(String cliperId, VideoProcessingResponse processingResponse) {
+        Optional<Cliper> found = cliperRepository.findById(cliperId);
+        if (found.isEmpty()) {
+            return false;
         }
+        Cliper cliper = found.get();
+        User user = cliper.getUser();
 
-        // Step 6: Save cliper
-        cliper = cliperRepository.save(cliper);
+        cliper.setTranscription(processingResponse.getTranscription());
+        cliper.setStatus(Cliper.Status.DONE);
+        cliperRepository.save(cliper);
 
-        // Step 4: Always create/update ATS profile with microservice data (regenerate each time)
-         if (processingResponse != null && processingResponse.getProfile() != null) {
-             // Use microservice data to create/update ATS profile (always regenerate)
-             generateOrUpdateATSProfileFromMicroservice(user, processingResponse.getProfile(), processingResponse.getTranscription(), cliper.getId());
-         } else {
-             // If no microservice data, update cliper ID if profile exists
-             updateATSProfileWithCliperId(user.getId(), cliper.getId());
-         }
+        // Always create/update ATS profile with microservice data (regenerate each time)
+        if (processingResponse.getProfile() != null) {
+            generateOrUpdateATSProfileFromMicroservice(user, processingResponse.getProfile(), processingResponse.getTranscription(), cliper.getId());
+        } else {
+            updateATSProfileWithCliperId(user.getId(), cliper.getId());
+        }
 
-        // Step 7: Send notification
         notificationService.notifyCliperProcessed(user.getId(), cliper.getId());
+        return true;
+    }
 
-        return cliper;
+    /**
+     * Cambia el estado en su propia transacción y lo publica a los suscriptores.
+     *
+     * @return false si el cliper ya no existe
+     */
+    private boolean updateStatus(String cliperId, Cliper.Status newStatus) {
+        Boolean updated = transactionTemplate.execute(status -> cliperRepository.findById(cliperId)
+                .map(cliper -> {
+                    cliper.setStatus(newStatus);
+                    cliperRepository.save(cliper);
+                    return true;
+                })
+                .orElse(false));
+        if (Boolean.TRUE.equals(updated)) {
+            cliperStatusPublisher.publish(cliperId, newStatus);
+            return true;
+        }
+        return false;
     }
 
     private User validateAndGetUser(String userId) {
@@ -145,60 +266,38 @@ public class CliperService {
     }
 
 
-    /**
-     * Builder Pattern implícito para generar perfil ATS
-     * Utiliza el patrón builder implementado en ATSProfile
-     */
-    private void generateOrUpdateATSProfile(Cliper cliper) {
-        try {
-            Optional<ATSProfile> existingProfile = atsProfileRepository.findByUserId(cliper.getUser().getId());
-            
-            ATSProfile atsProfile;
-            if (existingProfile.isPresent()) {
-                // Actualizar perfil existente
-                atsProfile = existingProfile.get();
-                atsProfile.withCliper(cliper.getId());
-            } else {
-                // Crear nuevo perfil usando Builder pattern implícito
-                atsProfile = new ATSProfile(cliper.getUser())
-                        .withCliper(cliper.getId());
-            }
-            
-            // Generar contenido del perfil desde el cliper procesado
-            atsProfile.generateFromCliperData(cliper.getTranscription(), cliper.getSkills());
-            
-            atsProfileRepository.save(atsProfile);
-            
-        } catch (Exception e) {
-            System.err.println("Error generando perfil ATS para cliper " + cliper.getId() + ": " + e.getMessage());
-        }
-    }
-
     // Métodos CRUD estándar
+    @Transactional(readOnly = true)
     public Optional<Cliper> findById(String id) {
         return cliperRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Cliper> findByUserId(String userId) {
         return cliperRepository.findByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public Page<Cliper> findByUserId(String userId, Pageable pageable) {
         return cliperRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Cliper> findProcessedClipers(Pageable pageable) {
         return cliperRepository.findProcessedClipersOrderByCreatedAtDesc(pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Cliper> searchClipers(String query, Pageable pageable) {
         return cliperRepository.searchClipers(query, pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<Cliper> findBySkill(String skill) {
         return cliperRepository.findBySkillsContaining(skill);
     }
 
+    @Transactional
     public Cliper updateCliper(String id, String title, String description) {
         Cliper cliper = cliperRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cliper no encontrado"));
@@ -214,6 +313,7 @@ public class CliperService {
         return cliperRepository.save(cliper);
     }
 
+    @Transactional
     public void deleteCliper(String id) {
         Cliper cliper = cliperRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cliper no encontrado"));
@@ -224,8 +324,11 @@ public class CliperService {
         }
 
         cliperRepository.deleteById(id);
+        processingTaskRepository.deleteById(id);
+        blobStore.release(cliper.getVideoUrl());
     }
 
+    @Transactional(readOnly = true)
     public List<Cliper> findByStatus(Cliper.Status status) {
         return cliperRepository.findByStatus(status);
     }
@@ -233,6 +336,7 @@ public class CliperService {
     /**
      * Command Pattern implícito - reintenta el procesamiento de un Cliper fallido
      */
+    @Transactional
     public void retryProcessing(String cliperId) {
         Cliper cliper = cliperRepository.findById(cliperId)
                 .orElseThrow(() -> new RuntimeException("Cliper no encontrado"));
@@ -241,98 +345,11 @@ public class CliperService {
             throw new IllegalStateException("Solo se puede reintentar el procesamiento de Clipers fallidos");
         }
 
-        // Resetear estado y reiniciar procesamiento con simulación (no tenemos el archivo original)
+        // El video sigue en el BlobStore: se vuelve a procesar con la tarea persistente
         cliper.setStatus(Cliper.Status.UPLOADED);
-        cliper = cliperRepository.save(cliper);
-
-        // Para retry, usamos procesamiento simulado ya que no tenemos el archivo original
-        new Thread(() -> {
-            try {
-                Thread.sleep(100);
-                Cliper freshCliper = cliperRepository.findById(cliperId)
-                    .orElseThrow(() -> new RuntimeException("Cliper no encontrado: " + cliperId));
-
-                freshCliper.setStatus(Cliper.Status.PROCESSING);
-                cliperRepository.save(freshCliper);
-
-                System.out.println("Reintentando procesamiento simulado para cliper: " + freshCliper.getId());
-                freshCliper.processVideo();
-
-                if (freshCliper.getStatus() == Cliper.Status.DONE) {
-                    cliperRepository.save(freshCliper);
-                    generateOrUpdateATSProfile(freshCliper);
-                    notificationService.notifyCliperProcessed(freshCliper.getUser().getId(), freshCliper.getId());
-                } else {
-                    freshCliper.setStatus(Cliper.Status.FAILED);
-                    cliperRepository.save(freshCliper);
-                }
-
-            } catch (Exception e) {
-                System.err.println("Error reintentando procesamiento para cliper " + cliperId + ": " + e.getMessage());
-            }
-        }).start();
-    }
-
-    /**
-     * Llama al microservicio externo para procesar el video
-     */
-    private VideoProcessingResponse callVideoProcessingService(java.nio.file.Path filePath) {
-        try {
-            System.out.println("=== LLAMANDO AL MICROSERVICIO ===");
-            System.out.println("URL: " + videoProcessingServiceUrl);
-            System.out.println("Archivo: " + filePath.toString());
-            System.out.println("Archivo existe: " + java.nio.file.Files.exists(filePath));
-            System.out.println("Tamaño del archivo: " + (java.nio.file.Files.exists(filePath) ? java.nio.file.Files.size(filePath) : "N/A"));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new org.springframework.core.io.FileSystemResource(filePath.toFile()));
-
-            HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
-
-            System.out.println("Enviando petición al microservicio...");
-            ResponseEntity<VideoProcessingResponse> response = restTemplate.postForEntity(
-                videoProcessingServiceUrl,
-                entity,
-                VideoProcessingResponse.class
-            );
-
-            System.out.println("=== RESPUESTA DEL MICROSERVICIO ===");
-            System.out.println("Status: " + response.getStatusCode());
-            VideoProcessingResponse responseBody = response.getBody();
-            System.out.println("Body: " + responseBody);
-
-            if (responseBody != null) {
-                System.out.println("📝 Transcripción: " + responseBody.getTranscription());
-                if (responseBody.getProfile() != null) {
-                    System.out.println("👤 Nombre: " + responseBody.getProfile().getName());
-                    System.out.println("💼 Profesión: " + responseBody.getProfile().getProfession());
-                    System.out.println("📚 Experiencia: " + responseBody.getProfile().getExperience());
-                    System.out.println("🎓 Educación: " + responseBody.getProfile().getEducation());
-                    System.out.println("🛠️ Tecnologías: " + responseBody.getProfile().getTechnologies());
-                    System.out.println("🌐 Idiomas: " + responseBody.getProfile().getLanguages());
-                    System.out.println("🏆 Logros: " + responseBody.getProfile().getAchievements());
-                    System.out.println("🤝 Habilidades blandas: " + responseBody.getProfile().getSoftSkills());
-                } else {
-                    System.out.println("⚠️ Perfil es null");
-                }
-            }
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                System.out.println("✅ Microservicio respondió exitosamente");
-                return response.getBody();
-            } else {
-                System.err.println("❌ Error en microservicio: " + response.getStatusCode());
-                return null;
-            }
-
-        } catch (Exception e) {
-            System.err.println("❌ Error llamando al microservicio de procesamiento: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
+        cliperRepository.save(cliper);
+        enqueueProcessing(cliperId);
+        TransactionCallbacks.afterCommit(() -> cliperStatusPublisher.publish(cliperId, Cliper.Status.UPLOADED));
     }
 
     /**
@@ -417,46 +434,51 @@ public class CliperService {
     /**
      * Elimina todos los clipers y perfiles ATS (solo para administración)
      */
+    @Transactional
     public void clearAllClipers() {
+        releaseAllVideos();
+        processingTaskRepository.deleteAll();
         cliperRepository.deleteAll();
         atsProfileRepository.deleteAll();
+        candidateFeatureCache.clear();
     }
 
     /**
      * Elimina todos los clipers y perfiles ATS (solo para administración)
      */
+    @Transactional
     public void clearAllData() {
         // Primero eliminar clipers
+        releaseAllVideos();
+        processingTaskRepository.deleteAll();
         cliperRepository.deleteAll();
         // Luego eliminar perfiles ATS
         atsProfileRepository.deleteAll();
+        candidateFeatureCache.clear();
+    }
+
+    private void releaseAllVideos() {
+        for (Cliper cliper : cliperRepository.findAll()) {
+            blobStore.release(cliper.getVideoUrl());
+        }
     }
 
     /**
-     * Guarda el archivo de video y retorna la URL
+     * Guarda el archivo de video en el almacén direccionado por contenido
      */
-    private String saveVideoFile(org.springframework.web.multipart.MultipartFile videoFile) {
-        try {
-            // Crear directorio si no existe
-            java.nio.file.Path uploadDir = java.nio.file.Paths.get("./uploads/videos");
-            if (!java.nio.file.Files.exists(uploadDir)) {
-                java.nio.file.Files.createDirectories(uploadDir);
-            }
-
-            // Generar nombre único para el archivo
-            String fileName = "video_" + System.currentTimeMillis() + "_" + videoFile.getOriginalFilename();
-            java.nio.file.Path filePath = uploadDir.resolve(fileName);
-
-            // Guardar el archivo
-            java.nio.file.Files.copy(videoFile.getInputStream(), filePath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-
-            // Devolver URL completa para que el frontend pueda acceder
-            return "http://localhost:8080/uploads/videos/" + fileName;
+    private StoredBlob saveVideoFile(org.springframework.web.multipart.MultipartFile videoFile) {
+        try (java.io.InputStream input = videoFile.getInputStream()) {
+            return storeVideo(input, videoFile.getOriginalFilename(), videoFile.getContentType(), Long.MAX_VALUE);
         } catch (java.io.IOException e) {
             throw new RuntimeException("Error al guardar el archivo de video: " + e.getMessage());
         }
     }
 
+    // Devolver URL completa para que el frontend pueda acceder
+    private String videoUrlFor(StoredBlob video) {
+        return "http://localhost:8080/uploads/videos/" + video.getFileName();
+    }
+
     /**
      * Genera o actualiza el perfil ATS usando datos del microservicio (versión para User)
      */
@@ -602,6 +624,7 @@ public class CliperService {
             }
 
             ATSProfile savedProfile = atsProfileRepository.save(atsProfile);
+            candidateFeatureCache.refresh(savedProfile);
             System.out.println("✅ Perfil ATS guardado exitosamente con ID: " + savedProfile.getId());
             System.out.println("📊 Estadísticas del perfil:");
             System.out.println("  - Educación: " + savedProfile.getEducation().size());
@@ -668,6 +691,7 @@ public class CliperService {
             }
 
             atsProfileRepository.save(atsProfile);
+            candidateFeatureCache.refresh(atsProfile);
 
         } catch (Exception e) {
             System.err.println("Error generando perfil ATS simulado para usuario " + user.getId() + ": " + e.getMessage());
@@ -0,0 +1,122 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.repository.CliperRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publica las transiciones de {@link Cliper.Status} a los clientes suscritos por
+ * server-sent events. El stream se cierra al llegar a un estado final (DONE o FAILED).
+ */
+@Component
+public class CliperStatusPublisher {
+
+    private final CliperRepository cliperRepository;
+    private final Map<String, List<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+
+    public CliperStatusPublisher(CliperRepository cliperRepository,
+                                 @Value("${cliper.status.sse-timeout-ms:300000}") long timeoutMs) {
+        this.cliperRepository = cliperRepository;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Registra un suscriptor y después lee y le envía el estado actual. Como el registro va
+     * primero, una transición publicada mientras tanto le llega por {@link #publish} o queda
+     * reflejada en la lectura: puede llegar duplicada, pero no perderse.
+     *
+     * @return el stream, o vacío si el cliper no existe
+     */
+    public Optional<SseEmitter> subscribe(String cliperId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(cliperId, emitter);
+
+        subscribers.computeIfAbsent(cliperId, id -> new CopyOnWriteArrayList<>()).add(subscription);
+        Runnable unsubscribe = () -> unsubscribe(subscription);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        Optional<Cliper.Status> current = cliperRepository.findStatusById(cliperId);
+        if (current.isEmpty()) {
+            unsubscribe(subscription);
+            return Optional.empty();
+        }
+        subscription.deliver(current.get());
+        if (isFinal(current.get())) {
+            unsubscribe(subscription);
+        }
+        return Optional.of(emitter);
+    }
+
+    public void publish(String cliperId, Cliper.Status status) {
+        List<Subscription> subscriptions = isFinal(status)
+                ? subscribers.remove(cliperId)
+                : subscribers.get(cliperId);
+        if (subscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.deliver(status);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.cliperId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private static boolean isFinal(Cliper.Status status) {
+        return status == Cliper.Status.DONE || status == Cliper.Status.FAILED;
+    }
+
+    /**
+     * Un cliente conectado. subscribe y publish pueden enviarle a la vez; los envíos se
+     * serializan y, una vez cerrado el stream, los siguientes se descartan.
+     */
+    private final class Subscription {
+        private final String cliperId;
+        private final SseEmitter emitter;
+        private boolean closed;
+
+        Subscription(String cliperId, SseEmitter emitter) {
+            this.cliperId = cliperId;
+            this.emitter = emitter;
+        }
+
+        synchronized void deliver(Cliper.Status status) {
+            if (closed) {
+                return;
+            }
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("id", cliperId);
+            payload.put("status", status.toString());
+            try {
+                emitter.send(SseEmitter.event().name("status").data(payload));
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado
+                closed = true;
+                emitter.completeWithError(e);
+                unsubscribe(this);
+                return;
+            }
+            if (isFinal(status)) {
+                closed = true;
+                emitter.complete();
+            }
+        }
+    }
+}
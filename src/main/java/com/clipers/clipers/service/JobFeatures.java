@@ -0,0 +1,64 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Job;
+
+import java.util.List;
+
+/**
+ * Instantánea inmutable de los datos de una vacante que usa el matching.
+ * Conserva el orden original de las habilidades para construir la lista de coincidencias.
+ */
+public final class JobFeatures {
+
+    private final String jobId;
+    private final Job.JobType type;
+    private final String location;
+    private final boolean remote;
+    private final List<String> skillNames;
+    private final int[] skillIdsInOrder;
+    private final SkillSet skills;
+
+    private JobFeatures(String jobId, Job.JobType type, String location,
+                        List<String> skillNames, int[] skillIdsInOrder) {
+        this.jobId = jobId;
+        this.type = type;
+        this.location = location;
+        this.remote = location == null || location.toLowerCase().contains("remoto");
+        this.skillNames = skillNames;
+        this.skillIdsInOrder = skillIdsInOrder;
+        this.skills = SkillSet.of(skillIdsInOrder);
+    }
+
+    public static JobFeatures from(Job job, SkillDictionary skillDictionary) {
+        List<String> skillNames = job.getSkills() == null ? List.of() : List.copyOf(job.getSkills());
+        int[] ids = new int[skillNames.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = skillDictionary.intern(skillNames.get(i));
+        }
+        return new JobFeatures(job.getId(), job.getType(), job.getLocation(), skillNames, ids);
+    }
+
+    /**
+     * Indica si algún campo que interviene en el score cambió respecto a otra instantánea.
+     */
+    public boolean sameScoringInputs(JobFeatures other) {
+        return other != null
+                && type == other.type
+                && remote == other.remote
+                && skills.equals(other.skills);
+    }
+
+    public String getJobId() { return jobId; }
+
+    public Job.JobType getType() { return type; }
+
+    public String getLocation() { return location; }
+
+    public boolean isRemote() { return remote; }
+
+    public List<String> getSkillNames() { return skillNames; }
+
+    public int getSkillIdAt(int index) { return skillIdsInOrder[index]; }
+
+    public SkillSet getSkills() { return skills; }
+}
@@ -0,0 +1,173 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.JobMatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persiste los JobMatch del pipeline de matching en lotes JDBC, en lugar de
+ * un viaje de ida y vuelta por candidato.
+ * Cada fila se escribe con INSERT ... ON CONFLICT (job_id, user_id) DO UPDATE: el matching
+ * por vacante y el inverso por candidato pueden escribir a la vez el mismo par desde hilos
+ * distintos, y el segundo actualiza la fila en lugar de abortar toda la transacción.
+ */
+@Component
+public class JobMatchBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO job_matches (id, job_id, user_id, score, skill_score, experience_score, " +
+            "location_score, scoring_model_version, matched_skills, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (job_id, user_id) DO UPDATE SET " +
+            "score = EXCLUDED.score, skill_score = EXCLUDED.skill_score, " +
+            "experience_score = EXCLUDED.experience_score, location_score = EXCLUDED.location_score, " +
+            "scoring_model_version = EXCLUDED.scoring_model_version, matched_skills = EXCLUDED.matched_skills";
+
+    private static final String DELETE_SQL = "DELETE FROM job_matches WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    private final Counter rowsCounter;
+    private final Timer flushTimer;
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+
+    public JobMatchBatchWriter(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${matching.persist.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.rowsCounter = meterRegistry.counter("matching.persist.rows");
+        this.flushTimer = Timer.builder("matching.persist.flush")
+                .description("Duración de cada lote de inserción de matches")
+                .register(meterRegistry);
+        Gauge.builder("matching.persist.rows_per_second", lastRowsPerSecond, AtomicLong::get)
+                .description("Filas por segundo del último lote persistido")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre un buffer ligado a la transacción actual. Debe cerrarse para persistir el resto.
+     */
+    public Batch openBatch() {
+        return new Batch();
+    }
+
+    public class Batch implements AutoCloseable {
+
+        private final List<JobMatch> pending = new ArrayList<>(batchSize);
+        private final List<JobMatch> pendingDeletes = new ArrayList<>();
+        private long written = 0;
+
+        public void add(JobMatch jobMatch) {
+            pending.add(jobMatch);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Marca un match para borrarse; los DELETE se envían agrupados al cerrar el lote.
+         */
+        public void remove(JobMatch jobMatch) {
+            pendingDeletes.add(jobMatch);
+            if (pendingDeletes.size() >= batchSize) {
+                flushDeletes();
+            }
+        }
+
+        public void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            long startedAt = System.nanoTime();
+            // Los cambios de las entidades se escriben por JDBC: Hibernate no debe volver a
+            // escribirlas al hacer flush, y los matches no se vuelven a leer en esta transacción
+            pending.forEach(this::detach);
+            entityManager.flush();
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.batchUpdate(UPSERT_SQL, pending, pending.size(), (ps, jobMatch) -> bindUpsert(ps, jobMatch, now));
+            long elapsed = System.nanoTime() - startedAt;
+
+            flushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            rowsCounter.increment(pending.size());
+            lastRowsPerSecond.set(elapsed > 0 ? pending.size() * 1_000_000_000L / elapsed : 0);
+            written += pending.size();
+            pending.clear();
+        }
+
+        private void flushDeletes() {
+            if (pendingDeletes.isEmpty()) {
+                return;
+            }
+            pendingDeletes.forEach(this::detach);
+            entityManager.flush();
+            // Por id y sin comprobar filas afectadas: otro hilo pudo haberla borrado ya
+            jdbcTemplate.batchUpdate(DELETE_SQL, pendingDeletes, pendingDeletes.size(),
+                    (ps, jobMatch) -> ps.setString(1, jobMatch.getId()));
+            pendingDeletes.clear();
+        }
+
+        private void detach(JobMatch jobMatch) {
+            if (entityManager.contains(jobMatch)) {
+                entityManager.detach(jobMatch);
+            }
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        private void bindUpsert(PreparedStatement ps, JobMatch jobMatch, LocalDateTime now) throws SQLException {
+            // Un match nuevo recibe su id aquí; si el par ya existe se conserva el de la fila
+            if (jobMatch.getId() == null) {
+                jobMatch.setId(UUID.randomUUID().toString());
+            }
+            ps.setString(1, jobMatch.getId());
+            ps.setString(2, jobMatch.getJob().getId());
+            ps.setString(3, jobMatch.getUser().getId());
+            ps.setObject(4, jobMatch.getScore(), Types.DOUBLE);
+            ps.setObject(5, jobMatch.getSkillScore(), Types.DOUBLE);
+            ps.setObject(6, jobMatch.getExperienceScore(), Types.DOUBLE);
+            ps.setObject(7, jobMatch.getLocationScore(), Types.DOUBLE);
+            ps.setObject(8, jobMatch.getScoringModelVersion(), Types.INTEGER);
+            if (jobMatch.getMatchedSkills() != null) {
+                Connection connection = ps.getConnection();
+                Array skills = connection.createArrayOf("text", jobMatch.getMatchedSkills().toArray());
+                ps.setArray(9, skills);
+            } else {
+                ps.setNull(9, Types.ARRAY);
+            }
+            ps.setTimestamp(10, Timestamp.valueOf(jobMatch.getCreatedAt() != null ? jobMatch.getCreatedAt() : now));
+        }
+
+        @Override
+        public void close() {
+            flush();
+            flushDeletes();
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.entity.JobMatch;
+import com.clipers.clipers.entity.User;
+import com.clipers.clipers.repository.JobMatchRepository;
+import com.clipers.clipers.repository.JobRepository;
+import com.clipers.clipers.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio de matching candidatos ↔ vacantes.
+ * Calcula los matches en ambas direcciones: una vacante nueva contra los candidatos
+ * y un candidato con perfil ATS actualizado contra las vacantes activas.
+ * Todo el trabajo se ejecuta en el {@link MatchingExecutor}, fuera del hilo HTTP.
+ * Solo se guardan los K mejores matches por vacante (y por candidato), de modo que
+ * job_matches crece con las vacantes y no con vacantes × candidatos.
+ */
+@Service
+public class JobMatchingService {
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final JobMatchRepository jobMatchRepository;
+    private final NotificationService notificationService;
+    private final MatchingExecutor matchingExecutor;
+    private final CandidateSkillIndex candidateSkillIndex;
+    private final CandidateFeatureCache candidateFeatureCache;
+    private final ActiveJobIndex activeJobIndex;
+    private final SkillDictionary skillDictionary;
+    private final MatchScorer matchScorer;
+    private final JobMatchBatchWriter jobMatchBatchWriter;
+    private final CandidateScoringEngine candidateScoringEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int topKPerJob;
+    private final int topKPerCandidate;
+    private final long batchWindowMs;
+    private final int maxBatchSize;
+
+    private final Set<String> pendingJobIds = new LinkedHashSet<>();
+    private final ScheduledExecutorService batchWindowTimer;
+    private final AtomicLong batchSequence = new AtomicLong();
+    private final DistributionSummary batchSizeSummary;
+
+    public JobMatchingService(JobRepository jobRepository,
+                              UserRepository userRepository,
+                              JobMatchRepository jobMatchRepository,
+                              NotificationService notificationService,
+                              MatchingExecutor matchingExecutor,
+                              CandidateSkillIndex candidateSkillIndex,
+                              CandidateFeatureCache candidateFeatureCache,
+                              ActiveJobIndex activeJobIndex,
+                              SkillDictionary skillDictionary,
+                              MatchScorer matchScorer,
+                              JobMatchBatchWriter jobMatchBatchWriter,
+                              CandidateScoringEngine candidateScoringEngine,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${matching.top-k.per-job:200}") int topKPerJob,
+                              @Value("${matching.top-k.per-candidate:50}") int topKPerCandidate,
+                              @Value("${matching.job-batch.window-ms:500}") long batchWindowMs,
+                              @Value("${matching.job-batch.max-size:50}") int maxBatchSize,
+                              MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.jobMatchRepository = jobMatchRepository;
+        this.notificationService = notificationService;
+        this.matchingExecutor = matchingExecutor;
+        this.candidateSkillIndex = candidateSkillIndex;
+        this.candidateFeatureCache = candidateFeatureCache;
+        this.activeJobIndex = activeJobIndex;
+        this.skillDictionary = skillDictionary;
+        this.matchScorer = matchScorer;
+        this.jobMatchBatchWriter = jobMatchBatchWriter;
+        this.candidateScoringEngine = candidateScoringEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.topKPerJob = topKPerJob;
+        this.topKPerCandidate = topKPerCandidate;
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchWindowTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matching-batch-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizeSummary = DistributionSummary.builder("matching.job_batch.size")
+                .description("Vacantes agrupadas en cada pasada de matching")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola el matching de la vacante una vez confirmada la transacción,
+     * para que el hilo de matching vea la vacante ya persistida. Las vacantes que llegan
+     * dentro de la misma ventana se agrupan y se puntúan juntas en una sola pasada
+     * sobre los candidatos (p. ej. cuando una empresa importa muchas vacantes a la vez).
+     */
+    public void scheduleJobMatching(String jobId) {
+        TransactionCallbacks.afterCommit(() -> enqueueJob(jobId));
+    }
+
+    private void enqueueJob(String jobId) {
+        if (batchWindowMs <= 0) {
+            submitJobBatch(List.of(jobId));
+            return;
+        }
+
+        List<String> ready = null;
+        synchronized (pendingJobIds) {
+            boolean windowOpening = pendingJobIds.isEmpty();
+            pendingJobIds.add(jobId);
+            if (pendingJobIds.size() >= maxBatchSize) {
+                ready = drainPendingJobs();
+            } else if (windowOpening) {
+                batchWindowTimer.schedule(this::flushPendingJobs, batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) {
+            submitJobBatch(ready);
+        }
+    }
+
+    private void flushPendingJobs() {
+        List<String> ready;
+        synchronized (pendingJobIds) {
+            ready = drainPendingJobs();
+        }
+        if (!ready.isEmpty()) {
+            submitJobBatch(ready);
+        }
+    }
+
+    private List<String> drainPendingJobs() {
+        List<String> drained = new ArrayList<>(pendingJobIds);
+        pendingJobIds.clear();
+        return drained;
+    }
+
+    private void submitJobBatch(List<String> jobIds) {
+        batchSizeSummary.record(jobIds.size());
+        String key = jobIds.size() == 1 ? "job:" + jobIds.get(0) : "jobs:" + batchSequence.incrementAndGet();
+        matchingExecutor.submit(key, () -> rematchJobs(jobIds));
+    }
+
+    /**
+     * Entrega al executor las vacantes que siguen en la ventana antes de que este drene su cola.
+     */
+    @PreDestroy
+    public void shutdown() {
+        batchWindowTimer.shutdownNow();
+        flushPendingJobs();
+    }
+
+    /**
+     * Matching inverso: el perfil de un candidato cambió y se puntúa contra las vacantes activas.
+     * El evento ya llega después del commit, por eso se encola directamente.
+     */
+    @EventListener
+    public void onCandidateProfileChanged(CandidateProfileChangedEvent event) {
+        String userId = event.getUserId();
+        matchingExecutor.submit("candidate:" + userId,
+                () -> transactionTemplate.executeWithoutResult(status -> matchCandidate(userId)));
+    }
+
+    /**
+     * Recalcula en el hilo actual los matches de las vacantes indicadas; lo usan el executor
+     * de matching y el backfill. Una sola vacante usa la poda por índice invertido; un lote de
+     * vacantes (o una sin habilidades) hace una única pasada por tramos sobre todos los
+     * candidatos (matriz vacantes × candidato). Solo la escritura final abre transacción de escritura.
+     *
+     * @return filas de job_matches insertadas o actualizadas
+     */
+    public long rematchJobs(List<String> jobIds) {
+        List<JobFeatures> jobs = readOnlyTransaction.execute(status -> jobRepository.findAllById(jobIds).stream()
+                .map(job -> JobFeatures.from(job, skillDictionary))
+                .toList());
+        if (jobs == null || jobs.isEmpty()) {
+            return 0;
+        }
+
+        // Selección top-K con min-heap acotado: solo se crean entidades para los que se guardan
+        List<TopK<ScoredCandidate>> best;
+        if (jobs.size() == 1 && canPrune(jobs.get(0))) {
+            best = List.of(candidateScoringEngine.selectTopK(selectCandidates(jobs.get(0)), jobs.get(0), topKPerJob));
+        } else {
+            best = scoreAllCandidates(jobs);
+        }
+
+        Long written = transactionTemplate.execute(status -> {
+            long rows = 0;
+            for (int i = 0; i < jobs.size(); i++) {
+                rows += saveJobMatches(jobs.get(i), best.get(i));
+            }
+            return rows;
+        });
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Pasada completa: los candidatos llegan por tramos y cada tramo se fusiona en el
+     * top-K de cada vacante, así que solo se retienen K resultados por vacante.
+     */
+    private List<TopK<ScoredCandidate>> scoreAllCandidates(List<JobFeatures> jobs) {
+        List<TopK<ScoredCandidate>> best = new ArrayList<>(jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            best.add(new TopK<>(topKPerJob));
+        }
+        candidateFeatureCache.forEachChunk(chunk -> {
+            List<TopK<ScoredCandidate>> partial = candidateScoringEngine.selectTopK(chunk, jobs, topKPerJob);
+            for (int i = 0; i < best.size(); i++) {
+                best.get(i).addAll(partial.get(i));
+            }
+        });
+        return best;
+    }
+
+    /**
+     * Reconcilia los matches de la vacante en sitio: actualiza los existentes, inserta
+     * los nuevos del top-K y borra los que quedaron bajo el umbral o fuera del top-K.
+     * Es idempotente, así que sirve tanto para la vacante recién creada como para
+     * re-matching tras una edición.
+     */
+    private long saveJobMatches(JobFeatures jobFeatures, TopK<ScoredCandidate> best) {
+        String jobId = jobFeatures.getJobId();
+        Job job = jobRepository.getReferenceById(jobId);
+        Map<String, JobMatch> existingByUserId = new HashMap<>();
+        for (JobMatch existing : jobMatchRepository.findByJobId(jobId)) {
+            existingByUserId.put(existing.getUser().getId(), existing);
+        }
+
+        try (JobMatchBatchWriter.Batch batch = jobMatchBatchWriter.openBatch()) {
+            for (TopK.Entry<ScoredCandidate> entry : best.toSortedList()) {
+                CandidateFeatures candidate = entry.value().candidate();
+                MatchScore score = entry.value().score();
+                JobMatch existing = existingByUserId.remove(candidate.getUserId());
+
+                boolean wasNotified = existing != null && existing.getScore() >= matchScorer.getNotifyScore();
+                JobMatch jobMatch = existing != null
+                        ? existing
+                        : new JobMatch(job, userRepository.getReferenceById(candidate.getUserId()), null, null);
+                matchScorer.applyTo(jobMatch, score);
+                jobMatch.setMatchedSkills(matchScorer.findMatchedSkills(candidate.getSkills(), jobFeatures));
+                batch.add(jobMatch);
+
+                // Notificar al candidato si el match es bueno y no se le había avisado antes
+                if (!wasNotified && score.getOverallScore() >= matchScorer.getNotifyScore()) {
+                    notificationService.notifyJobMatched(candidate.getUserId(), jobId, score.getOverallScore());
+                }
+            }
+
+            // Bajo el umbral, fuera del top-K o sin habilidades en común tras la edición
+            existingByUserId.values().forEach(batch::remove);
+            batch.flush();
+            return batch.getWritten();
+        }
+    }
+
+    /**
+     * Puntúa un candidato contra las vacantes activas que comparten alguna habilidad con él
+     * y actualiza sus matches en sitio: inserta los nuevos, actualiza los existentes
+     * (misma semántica que findByUserIdAndJobId, pero cargados en una sola consulta)
+     * y elimina los que ya no superan el umbral o quedan fuera de su top-K.
+     */
+    private void matchCandidate(String userId) {
+        CandidateFeatures candidate = candidateFeatureCache.get(userId);
+        if (candidate == null) {
+            return;
+        }
+
+        Map<String, JobMatch> existingByJobId = new HashMap<>();
+        for (JobMatch existing : jobMatchRepository.findByUserId(userId)) {
+            existingByJobId.put(existing.getJob().getId(), existing);
+        }
+
+        TopK<ScoredJob> best = new TopK<>(topKPerCandidate);
+        for (JobFeatures job : activeJobIndex.findJobs(candidate.getSkills())) {
+            MatchScore score = matchScorer.score(candidate, job);
+            if (score.getOverallScore() >= matchScorer.getMinMatchScore()) {
+                best.offer(score.getOverallScore(), new ScoredJob(job, score));
+            }
+        }
+
+        User user = userRepository.getReferenceById(userId);
+
+        try (JobMatchBatchWriter.Batch batch = jobMatchBatchWriter.openBatch()) {
+            for (TopK.Entry<ScoredJob> entry : best.toSortedList()) {
+                JobFeatures job = entry.value().job();
+                MatchScore score = entry.value().score();
+                JobMatch existing = existingByJobId.remove(job.getJobId());
+
+                if (existing == null && !admitToJob(job.getJobId(), score.getOverallScore(), batch)) {
+                    continue;
+                }
+
+                boolean wasNotified = existing != null && existing.getScore() >= matchScorer.getNotifyScore();
+                JobMatch jobMatch = existing != null
+                        ? existing
+                        : new JobMatch(jobRepository.getReferenceById(job.getJobId()), user, null, null);
+                matchScorer.applyTo(jobMatch, score);
+                jobMatch.setMatchedSkills(matchScorer.findMatchedSkills(candidate.getSkills(), job));
+                batch.add(jobMatch);
+
+                if (!wasNotified && score.getOverallScore() >= matchScorer.getNotifyScore()) {
+                    notificationService.notifyJobMatched(userId, job.getJobId(), score.getOverallScore());
+                }
+            }
+
+            // Matches con vacantes activas que quedaron bajo el umbral, fuera del top-K
+            // o que ya no comparten habilidades con el candidato
+            // (las de vacantes inactivas las mantiene el lado de la vacante)
+            for (JobMatch remaining : existingByJobId.values()) {
+                if (Boolean.TRUE.equals(remaining.getJob().getIsActive())) {
+                    batch.remove(remaining);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mantiene el límite top-K de la vacante cuando el matching inverso inserta un match nuevo:
+     * si la vacante ya está llena, el nuevo match solo entra desplazando al de menor score.
+     * Con varios hilos de matching el límite es aproximado: dos candidatos procesados
+     * a la vez pueden desplazar al mismo match y dejar la vacante con uno de más.
+     *
+     * @return false si el match no alcanza a entrar en el top-K de la vacante
+     */
+    private boolean admitToJob(String jobId, double score, JobMatchBatchWriter.Batch batch) {
+        if (topKPerJob <= 0 || jobMatchRepository.countByJobId(jobId) < topKPerJob) {
+            return true;
+        }
+        JobMatch lowest = jobMatchRepository.findFirstByJobIdOrderByScoreAsc(jobId).orElse(null);
+        if (lowest != null && score <= lowest.getScore()) {
+            return false;
+        }
+        if (lowest != null) {
+            batch.remove(lowest);
+        }
+        return true;
+    }
+
+    /**
+     * La poda con el índice invertido solo aplica si la vacante lista habilidades y el
+     * índice ya está cargado; en otro caso se recorre el conjunto completo de candidatos.
+     */
+    private boolean canPrune(JobFeatures job) {
+        return !job.getSkills().isEmpty() && candidateSkillIndex.isReady();
+    }
+
+    /**
+     * Poda con el índice invertido: solo se puntúan candidatos que comparten al menos
+     * una habilidad con la vacante.
+     */
+    private List<CandidateFeatures> selectCandidates(JobFeatures job) {
+        List<CandidateFeatures> candidates = new ArrayList<>();
+        for (String userId : candidateSkillIndex.findCandidates(job.getSkillNames())) {
+            CandidateFeatures features = candidateFeatureCache.get(userId);
+            if (features != null) {
+                candidates.add(features);
+            }
+        }
+        return candidates;
+    }
+
+    private record ScoredJob(JobFeatures job, MatchScore score) {}
+}
@@ -0,0 +1,237 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.MatchBackfillCheckpoint;
+import com.clipers.clipers.repository.JobRepository;
+import com.clipers.clipers.repository.MatchBackfillCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recalcula los matches de todas las vacantes activas, por ejemplo tras cambiar el modelo
+ * de scoring o migrar datos. Recorre las vacantes por id en tramos, cada tramo en una sola
+ * pasada sobre los candidatos ({@link JobMatchingService#rematchJobs}), guarda un punto de
+ * control después de cada tramo y hace una pausa entre tramos para no saturar la base de datos.
+ * Si la aplicación se reinicia con un backfill en curso, se reanuda desde el último punto de control.
+ */
+@Service
+public class MatchBackfillService {
+
+    private final MatchBackfillCheckpointRepository checkpointRepository;
+    private final JobRepository jobRepository;
+    private final JobMatchingService jobMatchingService;
+    private final int jobsPerChunk;
+    private final long pauseMs;
+    private final long shutdownTimeoutSeconds;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "matching-backfill"));
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean cancelRequested = false;
+    // Apagado: el worker termina el tramo en curso y deja el punto de control en RUNNING
+    private volatile boolean stopping = false;
+    private final CountDownLatch stopSignal = new CountDownLatch(1);
+
+    // Referencias de la ejecución actual para calcular ritmo y ETA sin contar el tiempo apagado
+    private volatile long runStartedAt;
+    private volatile long runJobsAtStart;
+    private volatile long runRowsAtStart;
+
+    public MatchBackfillService(MatchBackfillCheckpointRepository checkpointRepository,
+                                JobRepository jobRepository,
+                                JobMatchingService jobMatchingService,
+                                @Value("${matching.backfill.jobs-per-chunk:10}") int jobsPerChunk,
+                                @Value("${matching.backfill.pause-ms:500}") long pauseMs,
+                                @Value("${matching.backfill.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.checkpointRepository = checkpointRepository;
+        this.jobRepository = jobRepository;
+        this.jobMatchingService = jobMatchingService;
+        this.jobsPerChunk = jobsPerChunk;
+        this.pauseMs = pauseMs;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIfInterrupted() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            MatchBackfillCheckpoint checkpoint = checkpointRepository.findById(MatchBackfillCheckpoint.JOB_MATCHES)
+                    .filter(found -> found.getStatus() == MatchBackfillCheckpoint.Status.RUNNING)
+                    .orElse(null);
+            if (checkpoint == null) {
+                running.set(false);
+                return;
+            }
+            System.out.println("Reanudando backfill de matches después de la vacante " + checkpoint.getLastJobId());
+            launch(checkpoint);
+        } catch (Exception e) {
+            running.set(false);
+            System.err.println("Error revisando backfill pendiente: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inicia un backfill desde el principio.
+     *
+     * @throws IllegalStateException si ya hay uno en curso
+     */
+    public Map<String, Object> start() {
+        // Se reserva antes de tocar el punto de control: dos inicios a la vez no deben reiniciarlo ambos
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay un backfill de matches en curso");
+        }
+
+        MatchBackfillCheckpoint saved;
+        try {
+            MatchBackfillCheckpoint checkpoint = new MatchBackfillCheckpoint(MatchBackfillCheckpoint.JOB_MATCHES);
+            checkpoint.setStatus(MatchBackfillCheckpoint.Status.RUNNING);
+            checkpoint.setLastJobId("");
+            checkpoint.setJobsTotal(jobRepository.countActiveAfter(""));
+            checkpoint.setStartedAt(LocalDateTime.now());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            saved = checkpointRepository.save(checkpoint);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        launch(saved);
+        return getProgress();
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        MatchBackfillCheckpoint checkpoint = checkpointRepository.findById(MatchBackfillCheckpoint.JOB_MATCHES).orElse(null);
+        if (checkpoint == null) {
+            progress.put("status", "NOT_STARTED");
+            return progress;
+        }
+
+        long remaining = checkpoint.getStatus() == MatchBackfillCheckpoint.Status.COMPLETED
+                ? 0 : jobRepository.countActiveAfter(checkpoint.getLastJobId());
+        progress.put("status", checkpoint.getStatus());
+        progress.put("running", running.get());
+        progress.put("processed", checkpoint.getJobsProcessed());
+        progress.put("remaining", remaining);
+        progress.put("total", checkpoint.getJobsProcessed() + remaining);
+        progress.put("rowsWritten", checkpoint.getRowsWritten());
+
+        if (running.get()) {
+            double elapsedSeconds = (System.nanoTime() - runStartedAt) / 1_000_000_000.0;
+            double jobsPerSecond = elapsedSeconds > 0 ? (checkpoint.getJobsProcessed() - runJobsAtStart) / elapsedSeconds : 0;
+            double rowsPerSecond = elapsedSeconds > 0 ? (checkpoint.getRowsWritten() - runRowsAtStart) / elapsedSeconds : 0;
+            progress.put("jobsPerSecond", jobsPerSecond);
+            progress.put("rowsPerSecond", rowsPerSecond);
+            progress.put("etaSeconds", jobsPerSecond > 0 ? Math.round(remaining / jobsPerSecond) : null);
+        }
+
+        progress.put("startedAt", checkpoint.getStartedAt());
+        progress.put("updatedAt", checkpoint.getUpdatedAt());
+        progress.put("finishedAt", checkpoint.getFinishedAt());
+        progress.put("error", checkpoint.getErrorMessage());
+        return progress;
+    }
+
+    /**
+     * Lanza el worker; quien llama ya reservó {@code running}.
+     */
+    private void launch(MatchBackfillCheckpoint checkpoint) {
+        cancelRequested = false;
+        runStartedAt = System.nanoTime();
+        runJobsAtStart = checkpoint.getJobsProcessed();
+        runRowsAtStart = checkpoint.getRowsWritten();
+        try {
+            worker.submit(() -> run(checkpoint));
+        } catch (RejectedExecutionException e) {
+            // Apagándose: el punto de control queda en RUNNING y se reanuda al arrancar
+            running.set(false);
+            throw new IllegalStateException("La aplicación se está deteniendo");
+        }
+    }
+
+    private void run(MatchBackfillCheckpoint checkpoint) {
+        try {
+            while (!cancelRequested && !stopping) {
+                List<String> jobIds = jobRepository.findActiveIdsAfter(checkpoint.getLastJobId(),
+                        PageRequest.of(0, jobsPerChunk));
+                if (jobIds.isEmpty()) {
+                    finish(checkpoint, MatchBackfillCheckpoint.Status.COMPLETED, null);
+                    return;
+                }
+
+                long rows = jobMatchingService.rematchJobs(jobIds);
+
+                checkpoint.setLastJobId(jobIds.get(jobIds.size() - 1));
+                checkpoint.setJobsProcessed(checkpoint.getJobsProcessed() + jobIds.size());
+                checkpoint.setRowsWritten(checkpoint.getRowsWritten() + rows);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpoint = checkpointRepository.save(checkpoint);
+
+                // La pausa termina antes si la aplicación se detiene
+                stopSignal.await(pauseMs, TimeUnit.MILLISECONDS);
+            }
+            if (!stopping) {
+                finish(checkpoint, MatchBackfillCheckpoint.Status.CANCELLED, null);
+            }
+        } catch (InterruptedException e) {
+            // Apagado: el punto de control queda en RUNNING y se reanuda en el próximo arranque
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (stopping) {
+                // Una interrupción durante el apagado suele llegar envuelta en otra excepción (JDBC)
+                System.err.println("Backfill de matches detenido por apagado, se reanudará: " + e.getMessage());
+                return;
+            }
+            System.err.println("Error en backfill de matches: " + e.getMessage());
+            finish(checkpoint, MatchBackfillCheckpoint.Status.FAILED, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void finish(MatchBackfillCheckpoint checkpoint, MatchBackfillCheckpoint.Status status, String error) {
+        checkpoint.setStatus(status);
+        checkpoint.setErrorMessage(error);
+        checkpoint.setFinishedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Pide al worker que pare tras el tramo en curso y lo espera; el punto de control queda
+     * en RUNNING para reanudarse en el próximo arranque. Solo se interrumpe si no termina a tiempo.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        stopSignal.countDown();
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                System.err.println("Backfill de matches no se detuvo en " + shutdownTimeoutSeconds + "s, interrumpiendo");
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            worker.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
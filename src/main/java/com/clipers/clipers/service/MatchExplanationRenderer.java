@@ -0,0 +1,73 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.JobMatch;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Genera la explicación de un match al leerlo, a partir de los componentes del score
+ * guardados en la fila. Las plantillas viven en messages*.properties y se eligen
+ * según el idioma de la petición (Accept-Language).
+ */
+@Component
+public class MatchExplanationRenderer {
+
+    private final MessageSource messageSource;
+
+    public MatchExplanationRenderer(MessageSource messageSource) {
+        this.messageSource = messageSource;
+    }
+
+    public String render(JobMatch jobMatch, Locale locale) {
+        StringBuilder explanation = new StringBuilder();
+        explanation.append(message("match.explanation.header", locale)).append('\n');
+
+        // Matches anteriores a los componentes solo conservan el score general
+        if (jobMatch.getSkillScore() != null && jobMatch.getExperienceScore() != null) {
+            explanation.append(message(skillKey(jobMatch.getSkillScore()), locale)).append('\n');
+            explanation.append(message(experienceKey(jobMatch.getExperienceScore()), locale)).append('\n');
+        }
+
+        explanation.append(message("match.explanation.overall", locale, jobMatch.getScore()));
+        return explanation.toString();
+    }
+
+    /**
+     * Rellena la explicación (campo no persistido) de los matches que se van a devolver.
+     */
+    public <T extends Collection<JobMatch>> T renderAll(T jobMatches) {
+        Locale locale = LocaleContextHolder.getLocale();
+        for (JobMatch jobMatch : jobMatches) {
+            jobMatch.setExplanation(render(jobMatch, locale));
+        }
+        return jobMatches;
+    }
+
+    private static String skillKey(double skillScore) {
+        if (skillScore >= 0.8) {
+            return "match.explanation.skills.excellent";
+        } else if (skillScore >= 0.6) {
+            return "match.explanation.skills.good";
+        } else if (skillScore >= 0.3) {
+            return "match.explanation.skills.partial";
+        }
+        return "match.explanation.skills.low";
+    }
+
+    private static String experienceKey(double experienceScore) {
+        if (experienceScore >= 0.8) {
+            return "match.explanation.experience.excellent";
+        } else if (experienceScore >= 0.6) {
+            return "match.explanation.experience.good";
+        }
+        return "match.explanation.experience.limited";
+    }
+
+    private String message(String key, Locale locale, Object... args) {
+        return messageSource.getMessage(key, args, locale);
+    }
+}
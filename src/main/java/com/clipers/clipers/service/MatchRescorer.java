@@ -0,0 +1,188 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.JobMatch;
+import com.clipers.clipers.repository.JobMatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-puntúa los matches guardados con una versión anterior del modelo de scoring.
+ * Al leer, los matches que se van a devolver se actualizan en sitio; en segundo plano,
+ * un barrido acotado por lotes y con pausas entre ellos recorre el resto sin
+ * bloquear el matching ni saturar la base de datos. El barrido corre en su propio hilo:
+ * con las pausas dura segundos y no debe ocupar el hilo compartido de @Scheduled.
+ */
+@Component
+public class MatchRescorer {
+
+    private final JobMatchRepository jobMatchRepository;
+    private final CandidateFeatureCache candidateFeatureCache;
+    private final ActiveJobIndex activeJobIndex;
+    private final SkillDictionary skillDictionary;
+    private final MatchScorer matchScorer;
+    private final JobMatchBatchWriter jobMatchBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean sweepEnabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMs;
+
+    private final Counter readCounter;
+    private final Counter sweptCounter;
+    private final Counter removedCounter;
+    private final Timer sweepTimer;
+    private final AtomicLong staleRemaining = new AtomicLong(-1);
+
+    private final ExecutorService sweeper = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "matching-rescore"));
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+    public MatchRescorer(JobMatchRepository jobMatchRepository,
+                         CandidateFeatureCache candidateFeatureCache,
+                         ActiveJobIndex activeJobIndex,
+                         SkillDictionary skillDictionary,
+                         MatchScorer matchScorer,
+                         JobMatchBatchWriter jobMatchBatchWriter,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${matching.rescore.sweep-enabled:true}") boolean sweepEnabled,
+                         @Value("${matching.rescore.batch-size:500}") int batchSize,
+                         @Value("${matching.rescore.max-batches-per-run:20}") int maxBatchesPerRun,
+                         @Value("${matching.rescore.pause-ms:200}") long pauseMs) {
+        this.jobMatchRepository = jobMatchRepository;
+        this.candidateFeatureCache = candidateFeatureCache;
+        this.activeJobIndex = activeJobIndex;
+        this.skillDictionary = skillDictionary;
+        this.matchScorer = matchScorer;
+        this.jobMatchBatchWriter = jobMatchBatchWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sweepEnabled = sweepEnabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMs = pauseMs;
+
+        this.readCounter = meterRegistry.counter("matching.rescore.rows", "trigger", "read");
+        this.sweptCounter = meterRegistry.counter("matching.rescore.rows", "trigger", "sweeper");
+        this.removedCounter = meterRegistry.counter("matching.rescore.removed");
+        this.sweepTimer = Timer.builder("matching.rescore.sweep")
+                .description("Duración de cada barrido de matches desactualizados")
+                .register(meterRegistry);
+        Gauge.builder("matching.rescore.stale", staleRemaining, AtomicLong::get)
+                .description("Matches pendientes de re-puntuar con el modelo actual (-1 = sin medir)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Actualiza en sitio los matches desactualizados que se van a devolver.
+     * Debe llamarse dentro de una transacción de escritura para que los cambios se guarden.
+     * Los que quedan bajo el umbral se conservan aquí y los borra el barrido.
+     */
+    public void rescoreStale(Collection<JobMatch> jobMatches) {
+        for (JobMatch jobMatch : jobMatches) {
+            if (!matchScorer.isCurrent(jobMatch) && rescore(jobMatch)) {
+                readCounter.increment();
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${matching.rescore.initial-delay-ms:60000}",
+               fixedDelayString = "${matching.rescore.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!sweepEnabled || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sweeper.execute(this::runSweep);
+        } catch (RejectedExecutionException e) {
+            // Apagándose
+            sweeping.set(false);
+        }
+    }
+
+    private void runSweep() {
+        try {
+            sweepTimer.record(this::sweepBatches);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void sweepBatches() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer processed = transactionTemplate.execute(status -> sweepBatch());
+                if (processed == null || processed < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+            staleRemaining.set(jobMatchRepository.countStaleMatches(matchScorer.getModelVersion()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Error re-puntuando matches: " + e.getMessage());
+        }
+    }
+
+    private int sweepBatch() {
+        List<JobMatch> stale = jobMatchRepository.findStaleMatches(matchScorer.getModelVersion(),
+                PageRequest.of(0, batchSize));
+
+        try (JobMatchBatchWriter.Batch batch = jobMatchBatchWriter.openBatch()) {
+            for (JobMatch jobMatch : stale) {
+                // Candidato sin perfil o score bajo el umbral del modelo actual: el match ya no aplica
+                if (!rescore(jobMatch) || jobMatch.getScore() < matchScorer.getMinMatchScore()) {
+                    batch.remove(jobMatch);
+                    removedCounter.increment();
+                } else {
+                    batch.add(jobMatch);
+                    sweptCounter.increment();
+                }
+            }
+        }
+        return stale.size();
+    }
+
+    /**
+     * @return false si el candidato ya no tiene perfil ATS y no se pudo puntuar
+     */
+    private boolean rescore(JobMatch jobMatch) {
+        CandidateFeatures candidate = candidateFeatureCache.get(jobMatch.getUser().getId());
+        if (candidate == null) {
+            return false;
+        }
+
+        JobFeatures job = activeJobIndex.get(jobMatch.getJob().getId());
+        if (job == null) {
+            job = JobFeatures.from(jobMatch.getJob(), skillDictionary);
+        }
+
+        MatchScore score = matchScorer.score(candidate, job);
+        matchScorer.applyTo(jobMatch, score);
+        jobMatch.setMatchedSkills(matchScorer.findMatchedSkills(candidate.getSkills(), job));
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // El barrido no guarda estado entre lotes: interrumpirlo solo deja pendiente el resto
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,27 @@
+package com.clipers.clipers.service;
+
+/**
+ * Resultado de puntuar un candidato contra una vacante, con el desglose por estrategia.
+ */
+public final class MatchScore {
+
+    private final double skillScore;
+    private final double experienceScore;
+    private final double locationScore;
+    private final double overallScore;
+
+    public MatchScore(double skillScore, double experienceScore, double locationScore, double overallScore) {
+        this.skillScore = skillScore;
+        this.experienceScore = experienceScore;
+        this.locationScore = locationScore;
+        this.overallScore = overallScore;
+    }
+
+    public double getSkillScore() { return skillScore; }
+
+    public double getExperienceScore() { return experienceScore; }
+
+    public double getLocationScore() { return locationScore; }
+
+    public double getOverallScore() { return overallScore; }
+}
@@ -0,0 +1,132 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.config.ScoringModelProperties;
+import com.clipers.clipers.entity.JobMatch;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strategy Pattern implementado implícitamente
+ * Combina las estrategias de habilidades, experiencia y ubicación para puntuar
+ * un candidato contra una vacante. Trabaja solo sobre instantáneas inmutables,
+ * por lo que es seguro usarlo desde varios hilos.
+ */
+@Component
+public class MatchScorer {
+
+    // Copia inmutable del modelo tomada al arrancar, para que todos los hilos puntúen igual
+    private final int modelVersion;
+    private final double skillWeight;
+    private final double experienceWeight;
+    private final double locationWeight;
+    private final double minMatchScore;
+    private final double notifyScore;
+
+    public MatchScorer(ScoringModelProperties model) {
+        this.modelVersion = model.getVersion();
+        this.skillWeight = model.getSkillWeight();
+        this.experienceWeight = model.getExperienceWeight();
+        this.locationWeight = model.getLocationWeight();
+        this.minMatchScore = model.getMinMatchScore();
+        this.notifyScore = model.getNotifyScore();
+    }
+
+    public MatchScore score(CandidateFeatures candidate, JobFeatures job) {
+        double skillScore = calculateSkillMatchScore(candidate.getSkills(), job.getSkills());
+        double experienceScore = calculateExperienceMatchScore(candidate, job);
+        double locationScore = calculateLocationMatchScore(candidate, job);
+        double overallScore = calculateOverallMatchScore(skillScore, experienceScore, locationScore);
+        return new MatchScore(skillScore, experienceScore, locationScore, overallScore);
+    }
+
+    // Strategy Pattern - combina múltiples estrategias
+    public double calculateOverallMatchScore(double skillScore, double experienceScore, double locationScore) {
+        return (skillScore * skillWeight) +
+               (experienceScore * experienceWeight) +
+               (locationScore * locationWeight);
+    }
+
+    // Estrategia basada en habilidades: intersección de ids ordenados, sin conjuntos intermedios
+    public double calculateSkillMatchScore(SkillSet candidateSkills, SkillSet jobSkills) {
+        if (candidateSkills.isEmpty()) {
+            return 0.0;
+        }
+
+        if (jobSkills.isEmpty()) {
+            return 0.5; // Score neutro si el trabajo no especifica habilidades
+        }
+
+        return (double) candidateSkills.intersectionSize(jobSkills) / jobSkills.size();
+    }
+
+    // Estrategia basada en experiencia: usa los años precalculados en la instantánea
+    public double calculateExperienceMatchScore(CandidateFeatures candidate, JobFeatures job) {
+        if (!candidate.hasExperience()) {
+            return 0.2; // Score bajo si no tiene experiencia registrada
+        }
+
+        int totalYearsOfExperience = candidate.getTotalYearsOfExperience();
+
+        // Evaluar experiencia según el tipo de trabajo
+        return switch (job.getType()) {
+            case INTERNSHIP -> totalYearsOfExperience >= 0 ? 0.9 : 0.5;
+            case FULL_TIME -> {
+                if (totalYearsOfExperience >= 5) yield 0.9;
+                else if (totalYearsOfExperience >= 2) yield 0.7;
+                else if (totalYearsOfExperience >= 1) yield 0.5;
+                else yield 0.3;
+            }
+            case PART_TIME, CONTRACT -> totalYearsOfExperience >= 1 ? 0.8 : 0.6;
+        };
+    }
+
+    // Estrategia basada en ubicación
+    public double calculateLocationMatchScore(CandidateFeatures candidate, JobFeatures job) {
+        // Estrategia simple - en producción sería más sofisticada
+        if (job.isRemote()) {
+            return 1.0; // Trabajo remoto siempre coincide
+        }
+
+        // Por simplicidad, asumimos coincidencia perfecta o nula
+        // En producción se usaría geolocalización
+        return 0.7; // Score por defecto para ubicación
+    }
+
+    /**
+     * Copia el resultado en el match junto con la versión del modelo que lo produjo.
+     */
+    public void applyTo(JobMatch jobMatch, MatchScore score) {
+        jobMatch.setScore(score.getOverallScore());
+        jobMatch.setSkillScore(score.getSkillScore());
+        jobMatch.setExperienceScore(score.getExperienceScore());
+        jobMatch.setLocationScore(score.getLocationScore());
+        jobMatch.setScoringModelVersion(modelVersion);
+    }
+
+    public boolean isCurrent(JobMatch jobMatch) {
+        return jobMatch.getScoringModelVersion() != null && jobMatch.getScoringModelVersion() == modelVersion;
+    }
+
+    public int getModelVersion() { return modelVersion; }
+
+    public double getMinMatchScore() { return minMatchScore; }
+
+    public double getNotifyScore() { return notifyScore; }
+
+    public List<String> findMatchedSkills(SkillSet candidateSkills, JobFeatures job) {
+        List<String> matchedSkills = new ArrayList<>();
+        if (candidateSkills.isEmpty()) {
+            return matchedSkills;
+        }
+
+        List<String> jobSkillNames = job.getSkillNames();
+        for (int i = 0; i < jobSkillNames.size(); i++) {
+            if (candidateSkills.contains(job.getSkillIdAt(i))) {
+                matchedSkills.add(jobSkillNames.get(i));
+            }
+        }
+        return matchedSkills;
+    }
+}
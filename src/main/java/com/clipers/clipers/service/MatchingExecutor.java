@@ -0,0 +1,149 @@
+package com.clipers.clipers.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de ejecución del matching con cola acotada.
+ * Reemplaza los hilos creados por cada vacante: el paralelismo es fijo,
+ * las tareas con la misma clave se fusionan mientras esperan en cola y,
+ * si la cola está llena, la tarea se rechaza en lugar de crear más hilos.
+ */
+@Component
+public class MatchingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final long shutdownTimeoutSeconds;
+
+    private final Counter submittedCounter;
+    private final Counter coalescedCounter;
+    private final Counter rejectedCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Timer queueWaitTimer;
+    private final Timer executionTimer;
+
+    public MatchingExecutor(MeterRegistry meterRegistry,
+                            @Value("${matching.executor.threads:2}") int threads,
+                            @Value("${matching.executor.queue-capacity:100}") int queueCapacity,
+                            @Value("${matching.executor.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new MatchingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("matching.queue.depth", executor, e -> e.getQueue().size())
+                .description("Tareas de matching esperando en cola")
+                .register(meterRegistry);
+        Gauge.builder("matching.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Tareas de matching en ejecución")
+                .register(meterRegistry);
+
+        this.submittedCounter = meterRegistry.counter("matching.tasks", "outcome", "submitted");
+        this.coalescedCounter = meterRegistry.counter("matching.tasks", "outcome", "coalesced");
+        this.rejectedCounter = meterRegistry.counter("matching.tasks", "outcome", "rejected");
+        this.completedCounter = meterRegistry.counter("matching.tasks", "outcome", "completed");
+        this.failedCounter = meterRegistry.counter("matching.tasks", "outcome", "failed");
+        this.queueWaitTimer = Timer.builder("matching.queue.wait")
+                .description("Tiempo que una tarea espera en cola antes de ejecutarse")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("matching.task.duration")
+                .description("Duración de cada tarea de matching")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola una tarea de matching identificada por una clave (p. ej. "job:{id}").
+     * Si ya hay una tarea pendiente con la misma clave, la nueva se fusiona con ella:
+     * la tarea en cola leerá el estado más reciente cuando se ejecute.
+     *
+     * @return false si la tarea fue rechazada por cola llena o por apagado
+     */
+    public boolean submit(String key, Runnable task) {
+        if (!pendingKeys.add(key)) {
+            coalescedCounter.increment();
+            return true;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(key, task, enqueuedAt));
+            submittedCounter.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendingKeys.remove(key);
+            rejectedCounter.increment();
+            System.err.println("Cola de matching llena, tarea rechazada: " + key);
+            return false;
+        }
+    }
+
+    private void run(String key, Runnable task, long enqueuedAt) {
+        // Liberar la clave antes de ejecutar para que los cambios posteriores vuelvan a encolarse
+        pendingKeys.remove(key);
+        queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+
+        long startedAt = System.nanoTime();
+        try {
+            task.run();
+            completedCounter.increment();
+        } catch (Exception e) {
+            failedCounter.increment();
+            System.err.println("Error ejecutando tarea de matching " + key + ": " + e.getMessage());
+        } finally {
+            executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Drena la cola al apagar la aplicación: deja de aceptar tareas nuevas
+     * y espera a que terminen las encoladas antes de forzar la interrupción.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                System.err.println("Matching no terminó en " + shutdownTimeoutSeconds + "s, cancelando "
+                        + executor.getQueue().size() + " tareas pendientes");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MatchingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "matching-" + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+}
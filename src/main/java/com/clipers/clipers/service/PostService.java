@@ -30,18 +30,21 @@ public class PostService {
     private final PostLikeRepository postLikeRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final BlobStore blobStore;
 
     @Autowired
     public PostService(PostRepository postRepository,
                       CommentRepository commentRepository,
                       PostLikeRepository postLikeRepository,
                       UserRepository userRepository,
-                      NotificationService notificationService) {
+                      NotificationService notificationService,
+                      BlobStore blobStore) {
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
         this.postLikeRepository = postLikeRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.blobStore = blobStore;
     }
 
     /**
@@ -58,6 +61,8 @@ public class PostService {
         
         // Step 3: Save post
         post = postRepository.save(post);
+        blobStore.acquire(imageUrl);
+        blobStore.acquire(videoUrl);
         
         // Step 4: Notify observers (if needed)
         // En este caso, no notificamos la creación de posts
@@ -149,9 +154,11 @@ public class PostService {
     }
 
     public void deletePost(String id) {
-        if (!postRepository.existsById(id)) {
-            throw new RuntimeException("Publicación no encontrada");
-        }
-        postRepository.deleteById(id);
+        Post post = postRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Publicación no encontrada"));
+        postRepository.delete(post);
+        // Liberar los archivos; se recolectan si nadie más los usa
+        blobStore.release(post.getImageUrl());
+        blobStore.release(post.getVideoUrl());
     }
 }
@@ -0,0 +1,315 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.ProcessingTask;
+import com.clipers.clipers.repository.CliperRepository;
+import com.clipers.clipers.repository.ProcessingTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta las {@link ProcessingTask} persistentes en {@link CliperProcessingExecutor}.
+ * Toma tareas con un lease (FOR UPDATE SKIP LOCKED, seguro con varios nodos), nunca más
+ * de max-concurrent a la vez por nodo, y reintenta los fallos con backoff exponencial.
+ * Si el microservicio de video rechaza la llamada por saturación local, la tarea se
+ * pospone sin gastar un intento.
+ * Una tarea cuyo nodo cayó se retoma cuando su lease expira; al arrancar también se
+ * crean tareas para los Clipers que quedaron a medio procesar sin ninguna.
+ * <p>
+ * {@link #dispatch} se invoca también desde el afterCommit de quien encola la tarea,
+ * así que todas sus transacciones son propias (REQUIRES_NEW): unirse a la transacción
+ * ya confirmada dejaría el lease sin escribir.
+ */
+@Component
+public class ProcessingTaskScheduler {
+
+    private final ProcessingTaskRepository processingTaskRepository;
+    private final CliperRepository cliperRepository;
+    private final CliperService cliperService;
+    private final CliperProcessingExecutor cliperProcessingExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxConcurrent;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+
+    private final AtomicInteger running = new AtomicInteger();
+    // Lease vigente de cada Cliper encolado o en curso en este nodo; la ejecución lo lee
+    // al empezar, así un lease retomado mientras la anterior seguía en cola no se pierde
+    private final Map<String, String> leaseTokens = new ConcurrentHashMap<>();
+
+    private final Counter leasedCounter;
+    private final Counter recoveredCounter;
+    private final Counter completedCounter;
+    private final Counter retriedCounter;
+    private final Counter postponedCounter;
+    private final Counter failedCounter;
+
+    public ProcessingTaskScheduler(ProcessingTaskRepository processingTaskRepository,
+                                   CliperRepository cliperRepository,
+                                   CliperService cliperService,
+                                   CliperProcessingExecutor cliperProcessingExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${cliper.tasks.max-concurrent:2}") int maxConcurrent,
+                                   @Value("${cliper.tasks.lease-ms:600000}") long leaseMs,
+                                   @Value("${cliper.tasks.max-attempts:5}") int maxAttempts,
+                                   @Value("${cliper.tasks.backoff-initial-ms:10000}") long backoffInitialMs,
+                                   @Value("${cliper.tasks.backoff-max-ms:600000}") long backoffMaxMs) {
+        this.processingTaskRepository = processingTaskRepository;
+        this.cliperRepository = cliperRepository;
+        this.cliperService = cliperService;
+        this.cliperProcessingExecutor = cliperProcessingExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.leaseMs = leaseMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+
+        Gauge.builder("cliper.tasks.running", running, AtomicInteger::get)
+                .description("Tareas de procesamiento con lease en este nodo")
+                .register(meterRegistry);
+        this.leasedCounter = meterRegistry.counter("cliper.tasks", "outcome", "leased");
+        this.recoveredCounter = meterRegistry.counter("cliper.tasks", "outcome", "recovered");
+        this.completedCounter = meterRegistry.counter("cliper.tasks", "outcome", "completed");
+        this.retriedCounter = meterRegistry.counter("cliper.tasks", "outcome", "retried");
+        this.postponedCounter = meterRegistry.counter("cliper.tasks", "outcome", "postponed");
+        this.failedCounter = meterRegistry.counter("cliper.tasks", "outcome", "failed");
+    }
+
+    /**
+     * Crea tareas para los Clipers en UPLOADED o PROCESSING que no tienen ninguna,
+     * p. ej. los que se estaban procesando en un hilo cuando la aplicación se detuvo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        try {
+            Integer created = transactionTemplate.execute(status -> {
+                int count = 0;
+                List<Cliper> unfinished = new ArrayList<>(cliperRepository.findByStatus(Cliper.Status.UPLOADED));
+                unfinished.addAll(cliperRepository.findByStatus(Cliper.Status.PROCESSING));
+                for (Cliper cliper : unfinished) {
+                    if (!processingTaskRepository.existsById(cliper.getId())) {
+                        processingTaskRepository.save(new ProcessingTask(cliper.getId()));
+                        count++;
+                    }
+                }
+                return count;
+            });
+            if (created != null && created > 0) {
+                System.out.println("Tareas de procesamiento recuperadas al arrancar: " + created);
+            }
+        } catch (Exception e) {
+            System.err.println("Error recuperando tareas de procesamiento: " + e.getMessage());
+        }
+        dispatch();
+    }
+
+    @EventListener
+    public void onProcessingRequested(CliperProcessingRequestedEvent event) {
+        dispatch();
+    }
+
+    @Scheduled(initialDelayString = "${cliper.tasks.poll-interval-ms:5000}",
+               fixedDelayString = "${cliper.tasks.poll-interval-ms:5000}")
+    public void poll() {
+        dispatch();
+    }
+
+    /**
+     * Toma tantas tareas vencidas como huecos libres haya y las envía al executor.
+     */
+    public synchronized void dispatch() {
+        int free = maxConcurrent - running.get();
+        if (free <= 0) {
+            return;
+        }
+
+        LeaseResult result;
+        try {
+            result = transactionTemplate.execute(status -> lease(free));
+        } catch (Exception e) {
+            System.err.println("Error tomando tareas de procesamiento: " + e.getMessage());
+            return;
+        }
+        if (result == null) {
+            return;
+        }
+        result.exhausted().forEach(this::markFailed);
+
+        for (Lease lease : result.leases()) {
+            leaseTokens.put(lease.cliperId(), lease.token());
+            // Solo cuenta lo que de verdad queda programado; se suma antes de encolar
+            // porque la ejecución puede empezar (y restar) antes de que submit retorne
+            running.incrementAndGet();
+            CliperProcessingExecutor.Submission submission =
+                    cliperProcessingExecutor.submit(lease.cliperId(), () -> run(lease.cliperId()));
+            if (submission != CliperProcessingExecutor.Submission.SCHEDULED) {
+                running.decrementAndGet();
+            }
+            if (submission == CliperProcessingExecutor.Submission.REJECTED) {
+                leaseTokens.remove(lease.cliperId(), lease.token());
+                giveBack(lease, 0);
+            }
+        }
+    }
+
+    private LeaseResult lease(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Lease> leases = new ArrayList<>();
+        List<String> exhausted = new ArrayList<>();
+        for (ProcessingTask task : processingTaskRepository.lockDueTasks(now, limit)) {
+            if (task.getStatus() == ProcessingTask.Status.RUNNING) {
+                // El nodo que la tenía no terminó dentro del lease
+                recoveredCounter.increment();
+                System.out.println("Recuperando tarea de procesamiento con lease expirado: " + task.getCliperId());
+                if (task.getAttempts() >= maxAttempts) {
+                    task.setStatus(ProcessingTask.Status.FAILED);
+                    task.setLeaseToken(null);
+                    task.setLeaseExpiresAt(null);
+                    task.setLastError("Lease expirado en el último intento");
+                    processingTaskRepository.save(task);
+                    exhausted.add(task.getCliperId());
+                    continue;
+                }
+            }
+            String token = UUID.randomUUID().toString();
+            task.setStatus(ProcessingTask.Status.RUNNING);
+            task.setLeaseToken(token);
+            task.setLeaseExpiresAt(now.plusNanos(leaseMs * 1_000_000L));
+            task.setAttempts(task.getAttempts() + 1);
+            processingTaskRepository.save(task);
+            leasedCounter.increment();
+            leases.add(new Lease(task.getCliperId(), token));
+        }
+        return new LeaseResult(leases, exhausted);
+    }
+
+    private void run(String cliperId) {
+        Lease lease = new Lease(cliperId, leaseTokens.get(cliperId));
+        boolean done = false;
+        boolean busy = false;
+        String error = null;
+        try {
+            done = cliperService.runProcessingTask(cliperId);
+        } catch (VideoProcessingBusyException e) {
+            busy = true;
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+
+        try {
+            if (busy) {
+                giveBack(lease, backoffMs(1));
+                postponedCounter.increment();
+            } else if (done) {
+                complete(lease);
+            } else {
+                fail(lease, error);
+            }
+        } catch (Exception e) {
+            // El lease expirará y otro sondeo retomará la tarea
+            System.err.println("Error registrando el resultado de la tarea " + cliperId + ": " + e.getMessage());
+        } finally {
+            leaseTokens.remove(cliperId, lease.token());
+            running.decrementAndGet();
+        }
+        dispatch();
+    }
+
+    private void complete(Lease lease) {
+        transactionTemplate.executeWithoutResult(status -> processingTaskRepository.findById(lease.cliperId())
+                .filter(task -> lease.token().equals(task.getLeaseToken()))
+                .ifPresent(processingTaskRepository::delete));
+        completedCounter.increment();
+    }
+
+    private void fail(Lease lease, String error) {
+        Boolean exhausted = transactionTemplate.execute(status -> processingTaskRepository.findById(lease.cliperId())
+                .filter(task -> lease.token().equals(task.getLeaseToken()))
+                .map(task -> {
+                    task.setLeaseToken(null);
+                    task.setLeaseExpiresAt(null);
+                    task.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                    if (task.getAttempts() >= maxAttempts) {
+                        task.setStatus(ProcessingTask.Status.FAILED);
+                        processingTaskRepository.save(task);
+                        return true;
+                    }
+                    task.setStatus(ProcessingTask.Status.PENDING);
+                    task.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffMs(task.getAttempts()) * 1_000_000L));
+                    processingTaskRepository.save(task);
+                    return false;
+                })
+                .orElse(null));
+
+        if (Boolean.TRUE.equals(exhausted)) {
+            markFailed(lease.cliperId());
+        } else if (Boolean.FALSE.equals(exhausted)) {
+            retriedCounter.increment();
+        }
+    }
+
+    private void markFailed(String cliperId) {
+        failedCounter.increment();
+        System.err.println("Procesamiento del cliper " + cliperId + " falló tras " + maxAttempts + " intentos");
+        // Transacción propia también aquí: dispatch puede venir del afterCommit de otra
+        transactionTemplate.executeWithoutResult(status -> cliperService.markProcessingFailed(cliperId));
+    }
+
+    /**
+     * Devuelve la tarea a pendiente sin gastar un intento: el executor la rechazó (cola llena
+     * o apagado) o el microservicio estaba saturado. Con delayMs > 0 se pospone ese tiempo.
+     */
+    private void giveBack(Lease lease, long delayMs) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> processingTaskRepository.findById(lease.cliperId())
+                    .filter(task -> lease.token().equals(task.getLeaseToken()))
+                    .ifPresent(task -> {
+                        task.setStatus(ProcessingTask.Status.PENDING);
+                        task.setAttempts(Math.max(0, task.getAttempts() - 1));
+                        task.setLeaseToken(null);
+                        task.setLeaseExpiresAt(null);
+                        if (delayMs > 0) {
+                            task.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000L));
+                        }
+                        processingTaskRepository.save(task);
+                    }));
+        } catch (Exception e) {
+            System.err.println("Error devolviendo la tarea " + lease.cliperId() + ": " + e.getMessage());
+        }
+    }
+
+    // Backoff exponencial con jitter: initial * 2^(intento-1), acotado a max, ±20%
+    private long backoffMs(int attempts) {
+        long exponential = backoffInitialMs << Math.min(attempts - 1, 20);
+        long capped = Math.min(backoffMaxMs, exponential);
+        return (long) (capped * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    private record Lease(String cliperId, String token) {}
+
+    private record LeaseResult(List<Lease> leases, List<String> exhausted) {}
+}
@@ -0,0 +1,6 @@
+package com.clipers.clipers.service;
+
+/**
+ * Candidato ya puntuado contra una vacante, pendiente de persistirse como JobMatch.
+ */
+public record ScoredCandidate(CandidateFeatures candidate, MatchScore score) {}
@@ -0,0 +1,69 @@
+package com.clipers.clipers.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Diccionario de habilidades: asigna a cada nombre normalizado un identificador entero estable.
+ * El matching trabaja con estos enteros en lugar de construir conjuntos de Strings
+ * en minúsculas para cada candidato y cada vacante.
+ */
+@Component
+public class SkillDictionary {
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<String> namesById = new CopyOnWriteArrayList<>();
+
+    public static String normalize(String skill) {
+        return skill == null ? "" : skill.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Devuelve el id de la habilidad, registrándola si es la primera vez que aparece.
+     */
+    public int intern(String skill) {
+        String normalized = normalize(skill);
+        Integer id = idsByName.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            return idsByName.computeIfAbsent(normalized, name -> {
+                namesById.add(name);
+                return namesById.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Devuelve el id de la habilidad o -1 si nunca se ha registrado.
+     */
+    public int lookup(String skill) {
+        return idsByName.getOrDefault(normalize(skill), -1);
+    }
+
+    public String nameOf(int id) {
+        return namesById.get(id);
+    }
+
+    public int size() {
+        return namesById.size();
+    }
+
+    public SkillSet toSkillSet(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return SkillSet.EMPTY;
+        }
+        int[] ids = new int[skills.size()];
+        int i = 0;
+        for (String skill : skills) {
+            ids[i++] = intern(skill);
+        }
+        return SkillSet.of(ids);
+    }
+}
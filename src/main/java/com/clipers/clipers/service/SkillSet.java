@@ -0,0 +1,84 @@
+package com.clipers.clipers.service;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto inmutable de habilidades representado como un arreglo ordenado de ids del
+ * {@link SkillDictionary}. La intersección es un merge lineal sin reservar memoria.
+ */
+public final class SkillSet {
+
+    public static final SkillSet EMPTY = new SkillSet(new int[0]);
+
+    private final int[] ids;
+
+    private SkillSet(int[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Crea el conjunto a partir de ids en cualquier orden, descartando duplicados.
+     */
+    public static SkillSet of(int... ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return new SkillSet(size == sorted.length ? sorted : Arrays.copyOf(sorted, size));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+
+    public int intersectionSize(SkillSet other) {
+        int[] a = this.ids;
+        int[] b = other.ids;
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    public int[] toArray() {
+        return ids.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof SkillSet other && Arrays.equals(ids, other.ids));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+}
@@ -0,0 +1,14 @@
+package com.clipers.clipers.service;
+
+import java.nio.file.Path;
+
+/**
+ * Archivo subido ya escrito en su ubicación definitiva, con el tamaño y
+ * el SHA-256 (hex) calculados mientras se recibía.
+ */
+public record StoredUpload(Path path, long size, String sha256) {
+
+    public String fileName() {
+        return path.getFileName().toString();
+    }
+}
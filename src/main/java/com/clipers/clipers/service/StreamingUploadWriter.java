@@ -0,0 +1,74 @@
+package com.clipers.clipers.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Escribe el cuerpo de una subida directamente en su archivo definitivo en una sola pasada,
+ * a través de un FileChannel y un buffer directo de tamaño fijo por hilo.
+ * El tamaño y el SHA-256 se calculan sobre los mismos bytes mientras se escriben,
+ * sin archivo temporal ni segunda lectura.
+ */
+@Component
+public class StreamingUploadWriter {
+
+    private final ThreadLocal<ByteBuffer> buffers;
+
+    public StreamingUploadWriter(@Value("${file.upload.buffer-size:65536}") int bufferSize) {
+        this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(bufferSize));
+    }
+
+    /**
+     * Copia el stream en {@code target}, que no debe existir.
+     * Si la copia falla o supera {@code maxBytes}, el archivo parcial se elimina.
+     */
+    public StoredUpload write(InputStream input, Path target, long maxBytes) throws IOException {
+        MessageDigest digest = newSha256();
+        ByteBuffer buffer = buffers.get();
+        buffer.clear();
+        long size = 0;
+
+        Files.createDirectories(target.getParent());
+        FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try (out; ReadableByteChannel in = Channels.newChannel(input)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                size += buffer.remaining();
+                if (size > maxBytes) {
+                    throw new IOException("El archivo supera el tamaño máximo de " + maxBytes + " bytes");
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        return new StoredUpload(target, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.clipers.clipers.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selección de los K elementos con mayor score mediante un min-heap acotado.
+ * La cima del heap es el peor de los K actuales, así que cada oferta cuesta O(log K)
+ * y la memoria no crece con el número de candidatos puntuados.
+ * Con un límite menor o igual a cero se conservan todos los elementos.
+ */
+public class TopK<T> {
+
+    private final int limit;
+    private final PriorityQueue<Entry<T>> heap;
+
+    public TopK(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(limit > 0 ? limit + 1 : 16, Comparator.comparingDouble(Entry::score));
+    }
+
+    /**
+     * @return true si el elemento quedó entre los K mejores (por ahora)
+     */
+    public boolean offer(double score, T value) {
+        if (limit <= 0 || heap.size() < limit) {
+            heap.add(new Entry<>(score, value));
+            return true;
+        }
+        if (score <= heap.peek().score()) {
+            return false;
+        }
+        heap.poll();
+        heap.add(new Entry<>(score, value));
+        return true;
+    }
+
+    /**
+     * Combina otro selector en este (útil para fusionar resultados parciales).
+     */
+    public void addAll(TopK<T> other) {
+        for (Entry<T> entry : other.heap) {
+            offer(entry.score(), entry.value());
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Devuelve los elementos ordenados de mayor a menor score.
+     */
+    public List<Entry<T>> toSortedList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(Comparator.comparingDouble((Entry<T> e) -> e.score()).reversed());
+        return entries;
+    }
+
+    public record Entry<T>(double score, T value) {}
+}
@@ -26,16 +26,19 @@ public class UserService {
     private final CompanyRepository companyRepository;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
+    private final BlobStore blobStore;
 
     @Autowired
     public UserService(UserRepository userRepository, 
                       CompanyRepository companyRepository,
                       PasswordEncoder passwordEncoder,
-                      NotificationService notificationService) {
+                      NotificationService notificationService,
+                      BlobStore blobStore) {
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
         this.passwordEncoder = passwordEncoder;
         this.notificationService = notificationService;
+        this.blobStore = blobStore;
     }
 
     /**
@@ -176,7 +179,11 @@ public class UserService {
         if (userDTO.getLastName() != null) {
             user.setLastName(userDTO.getLastName());
         }
-        if (userDTO.getProfileImage() != null) {
+        if (userDTO.getProfileImage() != null && !userDTO.getProfileImage().equals(user.getProfileImage())) {
+            // La imagen puede ser un blob subido por /api/posts/upload/image: se referencia la
+            // nueva y se libera la anterior, o el BlobStore la recolectaría como huérfana
+            blobStore.release(user.getProfileImage());
+            blobStore.acquire(userDTO.getProfileImage());
             user.setProfileImage(userDTO.getProfileImage());
         }
     }
@@ -188,10 +195,10 @@ public class UserService {
     }
 
     public void deleteUser(String userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new RuntimeException("Usuario no encontrado");
-        }
-        userRepository.deleteById(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        userRepository.delete(user);
+        blobStore.release(user.getProfileImage());
     }
 
     // Adapter pattern implícito - convierte entre entidad y DTO
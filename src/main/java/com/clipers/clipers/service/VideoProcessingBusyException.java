@@ -0,0 +1,15 @@
+package com.clipers.clipers.service;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Rechazo por presión local (bulkhead o límite adaptativo lleno): el microservicio
+ * no está caído, solo hay demasiadas llamadas en curso. A diferencia de un circuito
+ * abierto, no se usan datos simulados; la tarea se devuelve para reintentarse más tarde.
+ */
+public class VideoProcessingBusyException extends RejectedExecutionException {
+
+    public VideoProcessingBusyException(String message) {
+        super(message);
+    }
+}
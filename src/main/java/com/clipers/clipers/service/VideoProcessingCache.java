@@ -0,0 +1,286 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.VideoProcessingResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Caché de respuestas del microservicio de video por SHA-256 del archivo
+ * (el mismo id que usa {@link BlobStore}). Volver a subir el mismo video reutiliza
+ * la transcripción y el perfil sin llamar de nuevo al microservicio.
+ * <p>
+ * Primer nivel en disco, acotado por tamaño con expulsión LRU; la fecha de modificación
+ * de cada entrada guarda el último acceso para conservar el orden tras un reinicio.
+ * Segundo nivel opcional en Redis, compartido entre instancias.
+ */
+@Component
+public class VideoProcessingCache {
+
+    private static final Pattern ENTRY_NAME = Pattern.compile("[0-9a-f]{64}\\.json");
+    private static final String REDIS_PREFIX = "video-processing:";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final Path dir;
+    private final long maxBytes;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    // Orden de acceso: la primera entrada es la menos usada recientemente
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter diskHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+    private final Counter evictedCounter;
+
+    public VideoProcessingCache(ObjectMapper objectMapper,
+                                ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                MeterRegistry meterRegistry,
+                                @Value("${video.processing.cache.dir:./cache/video-processing}") String cacheDir,
+                                @Value("${video.processing.cache.max-bytes:104857600}") long maxBytes,
+                                @Value("${video.processing.cache.redis.enabled:false}") boolean redisEnabled,
+                                @Value("${video.processing.cache.redis.ttl-hours:720}") long redisTtlHours) {
+        this.objectMapper = objectMapper;
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.dir = Paths.get(cacheDir);
+        this.maxBytes = maxBytes;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+
+        this.diskHitCounter = meterRegistry.counter("video.processing.cache", "result", "hit_disk");
+        this.redisHitCounter = meterRegistry.counter("video.processing.cache", "result", "hit_redis");
+        this.missCounter = meterRegistry.counter("video.processing.cache", "result", "miss");
+        this.evictedCounter = meterRegistry.counter("video.processing.cache", "result", "evicted");
+        Gauge.builder("video.processing.cache.bytes", this, VideoProcessingCache::getTotalBytes)
+                .description("Tamaño en disco de la caché de respuestas del microservicio de video")
+                .register(meterRegistry);
+
+        loadIndex();
+    }
+
+    /**
+     * @return la respuesta guardada para ese contenido, o null si no está en ningún nivel
+     */
+    public VideoProcessingResponse get(String contentHash) {
+        VideoProcessingResponse cached = readFromDisk(contentHash);
+        if (cached != null) {
+            diskHitCounter.increment();
+            return cached;
+        }
+
+        String json = readFromRedis(contentHash);
+        if (json != null) {
+            try {
+                cached = objectMapper.readValue(json, VideoProcessingResponse.class);
+                writeToDisk(contentHash, json);
+                redisHitCounter.increment();
+                return cached;
+            } catch (IOException e) {
+                System.err.println("Entrada inválida en Redis para " + contentHash + ": " + e.getMessage());
+            }
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    /**
+     * Guarda una respuesta real del microservicio. Los datos simulados no deben guardarse.
+     */
+    public void put(String contentHash, VideoProcessingResponse response) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(response);
+        } catch (IOException e) {
+            System.err.println("No se pudo serializar la respuesta de " + contentHash + ": " + e.getMessage());
+            return;
+        }
+        writeToDisk(contentHash, json);
+        writeToRedis(contentHash, json);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private VideoProcessingResponse readFromDisk(String contentHash) {
+        synchronized (this) {
+            if (entries.get(contentHash) == null) {
+                return null;
+            }
+        }
+        Path entry = entryPath(contentHash);
+        try {
+            VideoProcessingResponse response = objectMapper.readValue(entry.toFile(), VideoProcessingResponse.class);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return response;
+        } catch (NoSuchFileException e) {
+            forget(contentHash);
+            return null;
+        } catch (IOException e) {
+            System.err.println("Entrada de caché dañada " + entry + ", se descarta: " + e.getMessage());
+            forget(contentHash);
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String contentHash, String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        Path temp = dir.resolve(".entry-" + UUID.randomUUID() + ".part");
+        try {
+            Files.createDirectories(dir);
+            Files.write(temp, bytes);
+            Files.move(temp, entryPath(contentHash), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("No se pudo escribir la caché de " + contentHash + ": " + e.getMessage());
+            deleteQuietly(temp);
+            return;
+        }
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = entries.put(contentHash, (long) bytes.length);
+            totalBytes += bytes.length - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(contentHash)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (String key : evicted) {
+            deleteQuietly(entryPath(key));
+            evictedCounter.increment();
+        }
+    }
+
+    private String readFromRedis(String contentHash) {
+        StringRedisTemplate redis = redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+        if (redis == null) {
+            return null;
+        }
+        try {
+            return redis.opsForValue().get(REDIS_PREFIX + contentHash);
+        } catch (Exception e) {
+            // Redis es opcional: si no responde se sigue como si fuera un fallo de caché
+            System.err.println("Redis no disponible para la caché de video: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToRedis(String contentHash, String json) {
+        StringRedisTemplate redis = redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+        if (redis == null) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(REDIS_PREFIX + contentHash, json, redisTtl);
+        } catch (Exception e) {
+            System.err.println("Redis no disponible para la caché de video: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruye el índice LRU desde el directorio, del acceso más antiguo al más reciente,
+     * y expulsa lo que sobre si se redujo max-bytes.
+     */
+    private void loadIndex() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(dir)) {
+            listing.forEach(files::add);
+        } catch (IOException e) {
+            System.err.println("No se pudo leer la caché de video " + dir + ": " + e.getMessage());
+            return;
+        }
+
+        List<Map.Entry<Path, BasicFileAttributes>> found = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            try {
+                if (name.startsWith(".entry-")) {
+                    // Escritura interrumpida
+                    Files.deleteIfExists(file);
+                } else if (ENTRY_NAME.matcher(name).matches()) {
+                    found.add(Map.entry(file, Files.readAttributes(file, BasicFileAttributes.class)));
+                }
+            } catch (IOException e) {
+                System.err.println("Ignorando entrada de caché " + file + ": " + e.getMessage());
+            }
+        }
+        found.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+
+        synchronized (this) {
+            for (Map.Entry<Path, BasicFileAttributes> entry : found) {
+                String name = entry.getKey().getFileName().toString();
+                long size = entry.getValue().size();
+                entries.put(name.substring(0, name.length() - ".json".length()), size);
+                totalBytes += size;
+            }
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                totalBytes -= entry.getValue();
+                deleteQuietly(entryPath(entry.getKey()));
+                eldest.remove();
+            }
+        }
+        System.out.println("Caché de procesamiento de video: " + entries.size() + " entradas, " + totalBytes + " bytes");
+    }
+
+    private synchronized void forget(String contentHash) {
+        Long size = entries.remove(contentHash);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private Path entryPath(String contentHash) {
+        return dir.resolve(contentHash + ".json");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("No se pudo eliminar " + file + ": " + e.getMessage());
+        }
+    }
+}
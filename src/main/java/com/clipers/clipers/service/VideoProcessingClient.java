@@ -0,0 +1,261 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.VideoProcessingResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente del microservicio externo de procesamiento de video
+ * (transcripción y extracción del perfil del candidato).
+ * Usa el HttpClient del JDK: conexiones reutilizadas, envío asíncrono y el video
+ * transmitido desde disco como cuerpo multipart sin cargarlo en memoria.
+ * Las peticiones simultáneas a un mismo host se limitan; las que esperan turno
+ * no ocupan ningún hilo. Antes de llamar se consulta {@link VideoProcessingGuard}:
+ * con el servicio caído o saturado la llamada falla al instante.
+ */
+@Component
+public class VideoProcessingClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI videoProcessingServiceUri;
+    private final Duration requestTimeout;
+    private final long acquireTimeoutMs;
+    private final int maxConnectionsPerHost;
+
+    private final Map<String, HostPermits> permitsByHost = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final VideoProcessingGuard guard;
+
+    public VideoProcessingClient(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 VideoProcessingGuard guard,
+                                 @Value("${video.processing.service.url:https://micoservicioprocesarvideo.onrender.com/upload-video}") String videoProcessingServiceUrl,
+                                 @Value("${video.processing.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                 @Value("${video.processing.request-timeout-ms:300000}") long requestTimeoutMs,
+                                 @Value("${video.processing.acquire-timeout-ms:60000}") long acquireTimeoutMs,
+                                 @Value("${video.processing.max-connections-per-host:4}") int maxConnectionsPerHost) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.guard = guard;
+        this.videoProcessingServiceUri = URI.create(videoProcessingServiceUrl);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxConnectionsPerHost = Math.max(1, maxConnectionsPerHost);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        Gauge.builder("video.processing.inflight", inFlight, AtomicInteger::get)
+                .description("Llamadas al microservicio de video en curso")
+                .register(meterRegistry);
+        Gauge.builder("video.processing.waiting", waiting, AtomicInteger::get)
+                .description("Llamadas esperando turno por el límite de conexiones por host")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Versión bloqueante para los hilos de {@link CliperProcessingExecutor}.
+     * No debe invocarse dentro de una transacción: la llamada puede tardar minutos.
+     *
+     * @return la respuesta del microservicio, o null si falló o el circuito está abierto
+     * @throws VideoProcessingBusyException si el guard la rechazó por saturación local
+     */
+    public VideoProcessingResponse process(Path filePath) {
+        try {
+            return processAsync(filePath).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof VideoProcessingBusyException busy) {
+                throw busy;
+            }
+            if (e.getCause() instanceof RejectedExecutionException) {
+                System.out.println("⚠️ " + e.getCause().getMessage() + ", se usarán datos simulados");
+                return null;
+            }
+            System.err.println("❌ Error llamando al microservicio de procesamiento: " + e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Envía el video al microservicio. El futuro falla con {@link RejectedExecutionException}
+     * si el guard rechaza la llamada ({@link VideoProcessingBusyException} si es por saturación),
+     * y también si no hay turno dentro de acquire-timeout,
+     * si no hay respuesta dentro de request-timeout o si la respuesta no es 2xx.
+     */
+    public CompletableFuture<VideoProcessingResponse> processAsync(Path filePath) {
+        VideoProcessingGuard.Permit permit;
+        try {
+            permit = guard.acquire();
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest request;
+        try {
+            request = buildRequest(filePath);
+        } catch (IOException e) {
+            guard.release(permit, false);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HostPermits permits = permitsByHost.computeIfAbsent(videoProcessingServiceUri.getAuthority(),
+                host -> new HostPermits(maxConnectionsPerHost));
+        waiting.incrementAndGet();
+        return permits.acquire()
+                .orTimeout(acquireTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> waiting.decrementAndGet())
+                .thenCompose(ignored -> send(request).whenComplete((response, error) -> permits.release()))
+                .whenComplete((response, error) -> guard.release(permit, error == null && response != null));
+    }
+
+    private HttpRequest buildRequest(Path filePath) throws IOException {
+        String boundary = "clipers-" + UUID.randomUUID();
+        String fileName = filePath.getFileName().toString();
+        String contentType = MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+
+        // El archivo se lee desde disco a medida que se envía; la longitud total es conocida
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+                HttpRequest.BodyPublishers.ofFile(filePath),
+                HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8));
+
+        System.out.println("=== LLAMANDO AL MICROSERVICIO ===");
+        System.out.println("URL: " + videoProcessingServiceUri);
+        System.out.println("Archivo: " + filePath + " (" + body.contentLength() + " bytes)");
+
+        return HttpRequest.newBuilder(videoProcessingServiceUri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .POST(body)
+                .build();
+    }
+
+    private CompletableFuture<VideoProcessingResponse> send(HttpRequest request) {
+        inFlight.incrementAndGet();
+        long startedAt = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::parse)
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    Timer.builder("video.processing.latency")
+                            .description("Latencia de las llamadas al microservicio de video")
+                            .tag("outcome", outcome(error))
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                });
+    }
+
+    private VideoProcessingResponse parse(HttpResponse<byte[]> response) {
+        System.out.println("=== RESPUESTA DEL MICROSERVICIO ===");
+        System.out.println("Status: " + response.statusCode());
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IllegalStateException("El microservicio respondió " + response.statusCode());
+        }
+
+        VideoProcessingResponse body;
+        try {
+            body = objectMapper.readValue(response.body(), VideoProcessingResponse.class);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        if (body != null) {
+            System.out.println("📝 Transcripción: " + body.getTranscription());
+            if (body.getProfile() == null) {
+                System.out.println("⚠️ Perfil es null");
+            }
+        }
+        System.out.println("✅ Microservicio respondió exitosamente");
+        return body;
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException || cause instanceof TimeoutException ? "timeout" : "error";
+    }
+
+    /**
+     * Semáforo asíncrono: quien no obtiene permiso recibe un futuro que se completa
+     * cuando otro lo libera, en lugar de bloquear un hilo esperando.
+     */
+    private static final class HostPermits {
+        private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private int available;
+
+        HostPermits(int permits) {
+            this.available = permits;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+
+        void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                // Los que ya expiraron por acquire-timeout se descartan
+                do {
+                    next = waiters.poll();
+                } while (next != null && next.isDone());
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            if (!next.complete(null)) {
+                // Expiró justo ahora: el permiso pasa al siguiente
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.clipers.clipers.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Protege las llamadas al microservicio de video con tres mecanismos:
+ * <ul>
+ *   <li>Circuit breaker: si en la ventana de las últimas llamadas la tasa de fallos
+ *       (errores, timeouts o llamadas lentas) supera el umbral, se abre y las llamadas
+ *       se rechazan al instante durante open-duration; después se deja pasar una prueba.</li>
+ *   <li>Bulkhead: tope fijo de llamadas remotas simultáneas.</li>
+ *   <li>Límite adaptativo (AIMD): crece en 1/límite por cada respuesta rápida y se
+ *       reduce a la mitad ante un error o una respuesta por encima de la latencia objetivo.</li>
+ * </ul>
+ * Una llamada rechazada no espera. Con el circuito abierto el cliper continúa con los
+ * datos simulados; si el rechazo es del bulkhead o del límite, la tarea se reintenta después.
+ */
+@Component
+public class VideoProcessingGuard {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final int maxConcurrent;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    // Estado protegido por el monitor de this
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private int inFlight;
+    private double limit;
+
+    private final Counter tripsCounter;
+    private final Counter rejectedOpenCounter;
+    private final Counter rejectedBulkheadCounter;
+    private final Counter rejectedLimitCounter;
+
+    public VideoProcessingGuard(MeterRegistry meterRegistry,
+                                @Value("${video.processing.circuit.window-size:20}") int windowSize,
+                                @Value("${video.processing.circuit.minimum-calls:5}") int minimumCalls,
+                                @Value("${video.processing.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                                @Value("${video.processing.circuit.slow-call-ms:120000}") long slowCallMs,
+                                @Value("${video.processing.circuit.open-duration-ms:30000}") long openDurationMs,
+                                @Value("${video.processing.circuit.half-open-calls:1}") int halfOpenCalls,
+                                @Value("${video.processing.bulkhead.max-concurrent:4}") int maxConcurrent,
+                                @Value("${video.processing.limit.initial:2}") int initialLimit,
+                                @Value("${video.processing.limit.latency-threshold-ms:60000}") long latencyThresholdMs,
+                                @Value("${video.processing.limit.backoff-ratio:0.5}") double backoffRatio) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallMs * 1_000_000L;
+        this.openDurationNanos = openDurationMs * 1_000_000L;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.latencyThresholdNanos = latencyThresholdMs * 1_000_000L;
+        this.backoffRatio = backoffRatio;
+        this.window = new boolean[this.windowSize];
+        this.limit = Math.max(1, Math.min(initialLimit, this.maxConcurrent));
+
+        Gauge.builder("video.processing.circuit.state", this, guard -> guard.getState().ordinal())
+                .description("Estado del circuit breaker del microservicio de video (0=cerrado, 1=semiabierto, 2=abierto)")
+                .register(meterRegistry);
+        Gauge.builder("video.processing.concurrency.limit", this, VideoProcessingGuard::getLimit)
+                .description("Límite adaptativo de llamadas simultáneas al microservicio de video")
+                .register(meterRegistry);
+        this.tripsCounter = Counter.builder("video.processing.circuit.trips")
+                .description("Veces que se abrió el circuit breaker del microservicio de video")
+                .register(meterRegistry);
+        this.rejectedOpenCounter = meterRegistry.counter("video.processing.rejected", "reason", "circuit_open");
+        this.rejectedBulkheadCounter = meterRegistry.counter("video.processing.rejected", "reason", "bulkhead");
+        this.rejectedLimitCounter = meterRegistry.counter("video.processing.rejected", "reason", "limit");
+    }
+
+    /**
+     * Pide permiso para una llamada remota.
+     *
+     * @return el permiso, que debe devolverse con {@link #release}
+     * @throws VideoProcessingBusyException si el bulkhead o el límite adaptativo están llenos
+     * @throws RejectedExecutionException si el circuito está abierto
+     */
+    public synchronized Permit acquire() {
+        long now = System.nanoTime();
+        boolean probe = false;
+
+        if (state == State.OPEN) {
+            if (now - openedAt < openDurationNanos) {
+                rejectedOpenCounter.increment();
+                throw new RejectedExecutionException("Microservicio de video no disponible (circuito " + state + ")");
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) {
+                rejectedOpenCounter.increment();
+                throw new RejectedExecutionException("Microservicio de video no disponible (circuito " + state + ")");
+            }
+            probe = true;
+        }
+        if (inFlight >= maxConcurrent) {
+            rejectedBulkheadCounter.increment();
+            throw new VideoProcessingBusyException("Microservicio de video saturado (" + inFlight + " llamadas en curso)");
+        }
+        if (inFlight >= (int) limit) {
+            rejectedLimitCounter.increment();
+            throw new VideoProcessingBusyException("Microservicio de video saturado (límite " + (int) limit + ")");
+        }
+
+        if (probe) {
+            halfOpenInFlight++;
+        }
+        inFlight++;
+        return new Permit(now, probe);
+    }
+
+    /**
+     * Registra el resultado de una llamada: ajusta el límite adaptativo y
+     * alimenta la ventana del circuit breaker.
+     */
+    public synchronized void release(Permit permit, boolean success) {
+        if (permit.released) {
+            return;
+        }
+        permit.released = true;
+        inFlight--;
+
+        long elapsed = System.nanoTime() - permit.startedAt;
+        if (!success || elapsed > latencyThresholdNanos) {
+            limit = Math.max(1, limit * backoffRatio);
+        } else {
+            limit = Math.min(maxConcurrent, limit + 1 / limit);
+        }
+
+        boolean failed = !success || elapsed > slowCallNanos;
+        if (permit.probe) {
+            if (state == State.HALF_OPEN) {
+                halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+                if (failed) {
+                    trip();
+                } else {
+                    transitionTo(State.CLOSED);
+                }
+            }
+        } else if (state == State.CLOSED) {
+            // Las llamadas iniciadas antes de abrirse el circuito no cuentan
+            record(failed);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == windowSize && window[windowIndex]) {
+            windowFailures--;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+        windowCount = Math.min(windowCount + 1, windowSize);
+
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            trip();
+        }
+    }
+
+    private void trip() {
+        openedAt = System.nanoTime();
+        tripsCounter.increment();
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State newState) {
+        if (state != newState) {
+            System.out.println("🔌 Circuit breaker del microservicio de video: " + state + " -> " + newState);
+        }
+        state = newState;
+        if (newState != State.OPEN) {
+            halfOpenInFlight = 0;
+        }
+        if (newState == State.CLOSED || newState == State.OPEN) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+
+    public static final class Permit {
+        private final long startedAt;
+        private final boolean probe;
+        private boolean released;
+
+        private Permit(long startedAt, boolean probe) {
+            this.startedAt = startedAt;
+            this.probe = probe;
+        }
+    }
+}
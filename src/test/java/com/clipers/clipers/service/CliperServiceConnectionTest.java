@@ -0,0 +1,159 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.StoredBlob;
+import com.clipers.clipers.entity.User;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import com.clipers.clipers.repository.CliperRepository;
+import com.clipers.clipers.repository.ProcessingTaskRepository;
+import com.clipers.clipers.repository.UserRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Comprueba que el flujo de creación de Clipers no retiene conexiones del pool
+ * mientras espera al microservicio de procesamiento de video.
+ */
+class CliperServiceConnectionTest {
+
+	private HikariDataSource dataSource;
+	private CliperProcessingExecutor processingExecutor;
+
+	@BeforeEach
+	void setUp() {
+		HikariConfig config = new HikariConfig();
+		config.setJdbcUrl("jdbc:h2:mem:cliper-connections;DB_CLOSE_DELAY=-1");
+		config.setMaximumPoolSize(2);
+		dataSource = new HikariDataSource(config);
+		processingExecutor = new CliperProcessingExecutor(new SimpleMeterRegistry(), 1, 10, 5);
+	}
+
+	@AfterEach
+	void tearDown() {
+		processingExecutor.shutdown();
+		dataSource.close();
+	}
+
+	@Test
+	void slowRemoteCallDoesNotHoldAConnection(@TempDir Path uploadDir) throws Exception {
+		User user = new User();
+		user.setId("user-1");
+		user.setRole(User.Role.CANDIDATE);
+
+		AtomicReference<Cliper> stored = new AtomicReference<>();
+		AtomicInteger connectionsDuringSave = new AtomicInteger();
+		// El worker modifica la misma instancia en cuanto confirma: se guarda el estado inicial
+		AtomicReference<Cliper.Status> createdStatus = new AtomicReference<>();
+
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+
+		CliperRepository cliperRepository = mock(CliperRepository.class);
+		when(cliperRepository.findByUserId("user-1")).thenReturn(List.of());
+		when(cliperRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+		when(cliperRepository.save(any(Cliper.class))).thenAnswer(invocation -> {
+			connectionsDuringSave.accumulateAndGet(activeConnections(), Math::max);
+			Cliper cliper = invocation.getArgument(0);
+			if (cliper.getId() == null) {
+				cliper.setId("cliper-1");
+				createdStatus.set(cliper.getStatus());
+			}
+			stored.set(cliper);
+			return cliper;
+		});
+
+		ATSProfileRepository atsProfileRepository = mock(ATSProfileRepository.class);
+		when(atsProfileRepository.save(any(ATSProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		CountDownLatch remoteCallStarted = new CountDownLatch(1);
+		CountDownLatch releaseRemoteCall = new CountDownLatch(1);
+		AtomicInteger connectionsDuringRemoteCall = new AtomicInteger(-1);
+		VideoProcessingClient videoProcessingClient = mock(VideoProcessingClient.class);
+		when(videoProcessingClient.process(any())).thenAnswer(invocation -> {
+			connectionsDuringRemoteCall.set(activeConnections());
+			remoteCallStarted.countDown();
+			// Microservicio lento: no responde hasta que el test lo libera
+			releaseRemoteCall.await(10, TimeUnit.SECONDS);
+			return null;
+		});
+
+		StoredBlob blob = new StoredBlob("a".repeat(64), "videos/" + "a".repeat(64) + ".mp4", 4096, "video/mp4");
+		BlobStore blobStore = mock(BlobStore.class);
+		when(blobStore.store(any(), any(), any(), any(), any(), anyLong())).thenReturn(blob);
+		when(blobStore.resolve(blob)).thenReturn(uploadDir.resolve(blob.getPath()));
+		when(blobStore.resolveUrl(any())).thenReturn(Optional.of(uploadDir.resolve(blob.getPath())));
+
+		ProcessingTaskRepository processingTaskRepository = mock(ProcessingTaskRepository.class);
+		when(processingTaskRepository.findById(any())).thenReturn(Optional.empty());
+
+		// Hace de ProcessingTaskScheduler: al confirmarse la tarea, la ejecuta en el executor
+		AtomicReference<CliperService> service = new AtomicReference<>();
+		ApplicationEventPublisher eventPublisher = event -> {
+			String cliperId = ((CliperProcessingRequestedEvent) event).getCliperId();
+			processingExecutor.submit(cliperId, () -> service.get().runProcessingTask(cliperId));
+		};
+
+		CliperService cliperService = new CliperService(
+				cliperRepository,
+				userRepository,
+				atsProfileRepository,
+				new NotificationService(),
+				mock(CandidateFeatureCache.class),
+				videoProcessingClient,
+				mock(VideoProcessingCache.class),
+				blobStore,
+				processingTaskRepository,
+				eventPublisher,
+				new CliperStatusPublisher(cliperRepository, 1000),
+				new DataSourceTransactionManager(dataSource));
+
+		service.set(cliperService);
+
+		MockMultipartFile video = new MockMultipartFile("video", "video.mp4", "video/mp4", new byte[4096]);
+		Cliper cliper = cliperService.createCliper("user-1", "Mi cliper", "Descripción", null, 60, video);
+
+		assertEquals("cliper-1", cliper.getId());
+		assertEquals(Cliper.Status.UPLOADED, createdStatus.get());
+		assertTrue(remoteCallStarted.await(5, TimeUnit.SECONDS), "El microservicio no fue invocado");
+		assertEquals(Cliper.Status.PROCESSING, stored.get().getStatus());
+		assertEquals(0, connectionsDuringRemoteCall.get(), "La llamada remota se hizo con una conexión retenida");
+		assertEquals(0, activeConnections());
+
+		releaseRemoteCall.countDown();
+		// Espera a que el worker termine de guardar el resultado
+		processingExecutor.shutdown();
+
+		assertEquals(Cliper.Status.DONE, stored.get().getStatus());
+		// Los pasos transaccionales sí usan el pool: la medición es efectiva
+		assertTrue(connectionsDuringSave.get() > 0);
+		assertEquals(0, activeConnections());
+	}
+
+	private int activeConnections() {
+		return dataSource.getHikariPoolMXBean().getActiveConnections();
+	}
+}
@@ -0,0 +1,129 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ProcessingTask;
+import com.clipers.clipers.repository.ProcessingTaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Comprueba, con transacciones JPA reales, que una tarea encolada desde el afterCommit
+ * de la transacción que la crea queda con su lease escrito y se ejecuta una sola vez.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"cliper.tasks.poll-interval-ms=600000",
+		"cliper.tasks.max-concurrent=2"
+})
+@Import({ProcessingTaskScheduler.class, CliperProcessingExecutor.class, ProcessingTaskSchedulerTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProcessingTaskSchedulerTest {
+
+	@TestConfiguration
+	static class Metrics {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@MockitoBean
+	private CliperService cliperService;
+
+	@Autowired
+	private ProcessingTaskScheduler scheduler;
+
+	@Autowired
+	private ProcessingTaskRepository processingTaskRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void taskEnqueuedAfterCommitIsLeasedOnce() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(cliperService.runProcessingTask("cliper-1")).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(10, TimeUnit.SECONDS);
+			return true;
+		});
+
+		// Igual que CliperService.enqueueProcessing: la tarea se guarda y el aviso sale tras confirmar
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			processingTaskRepository.save(new ProcessingTask("cliper-1"));
+			TransactionCallbacks.afterCommit(() -> eventPublisher.publishEvent(new CliperProcessingRequestedEvent("cliper-1")));
+		});
+
+		assertTrue(started.await(5, TimeUnit.SECONDS), "La tarea no se ejecutó");
+		ProcessingTask leased = processingTaskRepository.findById("cliper-1").orElseThrow();
+		assertEquals(ProcessingTask.Status.RUNNING, leased.getStatus());
+		assertEquals(1, leased.getAttempts());
+		assertNotNull(leased.getLeaseToken());
+
+		// Un sondeo mientras la primera ejecución sigue en curso no debe volver a tomarla
+		scheduler.poll();
+		verify(cliperService, after(300).times(1)).runProcessingTask("cliper-1");
+
+		release.countDown();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (processingTaskRepository.existsById("cliper-1") && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertTrue(processingTaskRepository.findById("cliper-1").isEmpty(), "La tarea completada no se eliminó");
+		verify(cliperService, timeout(1000).times(1)).runProcessingTask("cliper-1");
+	}
+
+	@Test
+	void busyMicroserviceGivesTheTaskBackWithoutSpendingAnAttempt() throws Exception {
+		when(cliperService.runProcessingTask("cliper-2"))
+				.thenThrow(new VideoProcessingBusyException("Microservicio de video saturado (límite 1)"));
+
+		processingTaskRepository.save(new ProcessingTask("cliper-2"));
+		scheduler.poll();
+
+		verify(cliperService, timeout(5000).times(1)).runProcessingTask("cliper-2");
+		long deadline = System.currentTimeMillis() + 5000;
+		ProcessingTask task = processingTaskRepository.findById("cliper-2").orElseThrow();
+		while (task.getStatus() != ProcessingTask.Status.PENDING && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			task = processingTaskRepository.findById("cliper-2").orElseThrow();
+		}
+		assertEquals(ProcessingTask.Status.PENDING, task.getStatus());
+		assertEquals(0, task.getAttempts());
+		assertNull(task.getLeaseToken());
+		assertTrue(task.getNextAttemptAt().isAfter(LocalDateTime.now()), "La tarea no se pospuso");
+
+		// Pospuesta: un sondeo inmediato no la vuelve a tomar
+		scheduler.poll();
+		verify(cliperService, after(300).times(1)).runProcessingTask("cliper-2");
+		processingTaskRepository.deleteById("cliper-2");
+	}
+}